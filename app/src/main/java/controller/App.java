@@ -1,9 +1,31 @@
 package controller;
 
+import controller.http.ApiServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import javax.management.JMException;
 import model.entity.Item;
 import model.entity.Member;
+import model.metrics.InstrumentedContractService;
+import model.metrics.InstrumentedDataStore;
+import model.metrics.InstrumentedItemService;
+import model.metrics.InstrumentedMemberService;
+import model.metrics.MetricsRegistry;
 import model.persistence.DataStore;
 import model.persistence.InMemoryDataStore;
+import model.persistence.MappedSnapshotDataStore;
+import model.persistence.ShardedDataStore;
+import model.persistence.WriteAheadLogDataStore;
 import model.service.ContractService;
 import model.service.ItemService;
 import model.service.MemberService;
@@ -15,19 +37,36 @@ import view.MenuView;
  */
 
 public class App {
+  private static final int BATCH_BUFFER = 1 << 16; // bytes buffered on each side in batch mode
+  private static final int BATCH_PAGE_SIZE = 500; // nobody pages by hand, so fetch big pages
+
   /**
    * Application starting point.
+   * Pass {@code --wal <file>} to keep the data in a write-ahead log between runs,
+   * or {@code --snapshot <file>} to load and save a binary snapshot.
+   * Pass {@code --script <file>} to run the menu answers in a file without pauses,
+   * or {@code --batch} to read them from standard input the same way.
+   * Pass {@code --http <port>} to serve the JSON API instead of the menu.
+   * Operation metrics are published over JMX as {@value MetricsRegistry#OBJECT_NAME}.
    *
    * @param args command line arguments.
    */
   public static void main(String[] args) {
 
-    // Initialize services
+    // Initialize services, each recording its calls into the metrics registry
     TimeService timeService = new TimeService();
-    DataStore dataStore = new InMemoryDataStore();
-    MemberService memberService = new MemberService(timeService, dataStore);
-    ItemService itemService = new ItemService(dataStore, timeService, memberService);
-    ContractService contractService = new ContractService(timeService, dataStore);
+    MetricsRegistry metrics = new MetricsRegistry();
+    DataStore dataStore = new InstrumentedDataStore(createDataStore(args, timeService), metrics);
+    MemberService memberService = new InstrumentedMemberService(timeService, dataStore, metrics);
+    ItemService itemService =
+        new InstrumentedItemService(dataStore, timeService, memberService, metrics);
+    ContractService contractService =
+        new InstrumentedContractService(timeService, dataStore, memberService, itemService, metrics);
+    try {
+      metrics.registerJmx();
+    } catch (JMException e) {
+      System.err.println("Could not publish metrics over JMX: " + e.getMessage());
+    }
 
     // Initialize controllers
 
@@ -37,18 +76,136 @@ public class App {
 
     // Initialize view
 
-    MenuView menuView = new MenuView();
+    MenuView menuView = createView(args);
     // Demonstrate system functionality with sample data
 
-    initializeSampleData(memberController, itemController, contractController, timeService);
+    if (memberService.getAllMembers().isEmpty()) {
+      initializeSampleData(menuView, memberController, itemController, contractController,
+          timeService);
+    }
+
+
+    for (int i = 0; i < args.length - 1; i++) {
+      if ("--http".equals(args[i])) {
+        startHttp(Integer.parseInt(args[i + 1]), menuView, memberService, itemService,
+            contractService, timeService);
+        return;
+      }
+    }
+
+    // Start the menu loop (controller manages the flow)
+
+    menuView.displayMessage("\n=== Welcome to Stuff Lending System ===");
+
+    if (menuView.isBatch()) {
+      runBatch(menuView, memberController, itemController, contractController, timeService);
+    } else {
+      runInteractiveMenu(menuView, memberController, itemController, contractController,
+          timeService);
+    }
+    menuView.flush();
 
+  }
 
-    // Start interactive menu loop (controller manages the flow)
+  /**
+   * Serve the JSON API until the process is stopped.
+   *
+   * @param port            the port to listen on
+   * @param view            the view for the startup message
+   * @param memberService   the member service
+   * @param itemService     the item service
+   * @param contractService the contract service
+   * @param timeService     the time service
+   */
+  private static void startHttp(int port, MenuView view, MemberService memberService,
+      ItemService itemService, ContractService contractService, TimeService timeService) {
+    try {
+      ApiServer server = new ApiServer(new InetSocketAddress(port), memberService, itemService,
+          contractService, timeService);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+      server.start();
+      view.displayMessage("Serving the API on http://localhost:" + server.getPort() + "/");
+      view.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not listen on port " + port, e);
+    }
+  }
 
-    System.out.println("\n=== Welcome to Stuff Lending System ===");
+  /**
+   * Create the view selected on the command line.
+   *
+   * @param args command line arguments
+   * @return the view to use
+   */
+  private static MenuView createView(String[] args) {
+    for (int i = 0; i < args.length; i++) {
+      if ("--script".equals(args[i]) && i + 1 < args.length) {
+        try {
+          return new MenuView(Files.newBufferedReader(Paths.get(args[i + 1]), StandardCharsets.UTF_8),
+              batchOutput(), true, BATCH_PAGE_SIZE);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not open the script " + args[i + 1], e);
+        }
+      }
+      if ("--batch".equals(args[i])) {
+        return new MenuView(new BufferedReader(
+            new InputStreamReader(System.in, StandardCharsets.UTF_8), BATCH_BUFFER),
+            batchOutput(), true, BATCH_PAGE_SIZE);
+      }
+    }
+    return new MenuView();
+  }
 
-    runInteractiveMenu(menuView, memberController, itemController, contractController, timeService);
+  private static PrintWriter batchOutput() {
+    return new PrintWriter(new BufferedWriter(
+        new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BATCH_BUFFER));
+  }
 
+  /**
+   * Create the data store selected on the command line.
+   *
+   * @param args        command line arguments
+   * @param timeService the time service for restored entities
+   * @return the data store to use
+   */
+  private static DataStore createDataStore(String[] args, TimeService timeService) {
+    for (int i = 0; i < args.length - 1; i++) {
+      if ("--wal".equals(args[i])) {
+        try {
+          WriteAheadLogDataStore log = new WriteAheadLogDataStore(Paths.get(args[i + 1]), timeService);
+          Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+              log.close();
+            } catch (IOException e) {
+              System.err.println("Could not close the log: " + e.getMessage());
+            }
+          }));
+          return log;
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not open the log " + args[i + 1], e);
+        }
+      }
+      if ("--snapshot".equals(args[i])) {
+        try {
+          MappedSnapshotDataStore snapshot =
+              new MappedSnapshotDataStore(Paths.get(args[i + 1]), timeService);
+          Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+              snapshot.save();
+            } catch (IOException e) {
+              System.err.println("Could not save the snapshot: " + e.getMessage());
+            }
+          }));
+          return snapshot;
+        } catch (IOException e) {
+          throw new UncheckedIOException("Could not open the snapshot " + args[i + 1], e);
+        }
+      }
+      if ("--shards".equals(args[i])) {
+        return new ShardedDataStore(Integer.parseInt(args[i + 1]));
+      }
+    }
+    return new InMemoryDataStore();
   }
 
   /**
@@ -69,53 +226,8 @@ public class App {
 
     while (!exit) {
       int choice = view.getUserChoice();
-      switch (choice) {
-        case 1:
-          memberController.handleAddMember(view);
-          break;
-        case 2:
-          memberController.handleListMembers(view, false); // Simple list
-          break;
-        case 3:
-          memberController.handleListMembers(view, true); // Verbose list
-          break;
-        case 4:
-          memberController.handleViewMemberDetails(view);
-          break;
-        case 5:
-          memberController.handleUpdateMember(view);
-          break;
-        case 6:
-          memberController.handleDeleteMember(view);
-          break;
-        case 7:
-          itemController.handleCreateItem(view);
-          break;
-        case 8:
-          itemController.handleListItems(view);
-          break;
-        case 9:
-          itemController.handleEditItem(view);
-          break;
-        case 10:
-          itemController.handleDeleteItem(view);
-          break;
-        case 11:
-          contractController.handleCreateContract(view);
-          break;
-        case 12:
-          contractController.handleListContracts(view);
-          break;
-        case 13:
-          handleAdvanceDay(view, timeService);
-          break;
-        case 0:
-          exit = true;
-          view.displayExitMessage();
-          break;
-        default:
-          view.displayInvalidChoice();
-      }
+      exit = dispatch(choice, view, memberController, itemController, contractController,
+          timeService);
 
       if (!exit) {
         view.continueSession();
@@ -123,6 +235,110 @@ public class App {
     }
   }
 
+  /**
+   * Run the menu answers from the view's input without pauses, timing each
+   * command. Stops at the exit command or at the end of the input.
+   *
+   * @param view               the batch menu view
+   * @param memberController   the member controller
+   * @param itemController     the item controller
+   * @param contractController the contract controller
+   * @param timeService        the time service
+   */
+
+  private static void runBatch(MenuView view, MemberController memberController,
+      ItemController itemController, ContractController contractController,
+      TimeService timeService) {
+
+    int commands = 0;
+    long totalNanos = 0;
+    boolean exit = false;
+
+    while (!exit) {
+      int choice;
+      try {
+        choice = view.getUserChoice();
+      } catch (NoSuchElementException e) {
+        break; // end of script
+      }
+      long start = System.nanoTime();
+      try {
+        exit = dispatch(choice, view, memberController, itemController, contractController,
+            timeService);
+      } catch (NoSuchElementException e) {
+        view.displayError("Script ended in the middle of command " + choice);
+        exit = true;
+      }
+      long took = System.nanoTime() - start;
+      view.displayTiming(choice, took);
+      commands++;
+      totalNanos += took;
+    }
+    view.displayMessage(String.format("# %d commands in %.3f ms", commands, totalNanos / 1e6));
+  }
+
+  /**
+   * Run one menu command.
+   *
+   * @return true if the command was exit
+   */
+
+  private static boolean dispatch(int choice, MenuView view, MemberController memberController,
+      ItemController itemController, ContractController contractController,
+      TimeService timeService) {
+
+    switch (choice) {
+      case 1:
+        memberController.handleAddMember(view);
+        break;
+      case 2:
+        memberController.handleListMembers(view, false); // Simple list
+        break;
+      case 3:
+        memberController.handleListMembers(view, true); // Verbose list
+        break;
+      case 4:
+        memberController.handleViewMemberDetails(view);
+        break;
+      case 5:
+        memberController.handleUpdateMember(view);
+        break;
+      case 6:
+        memberController.handleDeleteMember(view);
+        break;
+      case 7:
+        itemController.handleCreateItem(view);
+        break;
+      case 8:
+        itemController.handleListItems(view);
+        break;
+      case 9:
+        itemController.handleEditItem(view);
+        break;
+      case 10:
+        itemController.handleDeleteItem(view);
+        break;
+      case 11:
+        contractController.handleCreateContract(view);
+        break;
+      case 12:
+        contractController.handleListContracts(view);
+        break;
+      case 13:
+        handleAdvanceDay(view, timeService);
+        break;
+      case 14:
+        itemController.handleSearchItems(view);
+        break;
+      case 0:
+        view.displayExitMessage();
+        return true;
+      default:
+        view.displayInvalidChoice();
+    }
+    return false;
+  }
+
   /**
    * Handle advancing the day.
    *
@@ -145,7 +361,7 @@ public class App {
    * Initialize sample data for demonstration.
    */
 
-  private static void initializeSampleData(MemberController memberController,
+  private static void initializeSampleData(MenuView view, MemberController memberController,
 
       ItemController itemController,
       ContractController contractController,
@@ -156,8 +372,8 @@ public class App {
       // Create sample members
       Member member1 = memberController.createMember("John Doe", "1234567890", "john@example.com");
       Member member2 = memberController.createMember("Jane Smith", "0987654321", "jane@example.com");
-      System.out.println("=== Sample Data Initialized ===");
-      System.out.println("Members created: " + member1.getName() + ", " + member2.getName());
+      view.displayMessage("=== Sample Data Initialized ===");
+      view.displayMessage("Members created: " + member1.getName() + ", " + member2.getName());
       
       // Create sample items
       Item item1 = itemController.createItem("Power Drill", Item.Category.TOOL,
@@ -165,14 +381,14 @@ public class App {
       Item item2 = itemController.createItem("Mountain Bike", Item.Category.SPORT,
           "High-quality mountain bike", 15.0, member2.getMemberId());
 
-      System.out.println("Items created: " + item1.getName() + ", " + item2.getName());
-      System.out.println("Current day: " + timeService.getCurrentDay());
+      view.displayMessage("Items created: " + item1.getName() + ", " + item2.getName());
+      view.displayMessage("Current day: " + timeService.getCurrentDay());
     } catch (Exception e) {
 
-      System.out.println("Warning: Could not initialize sample data - " + e.getMessage());
+      view.displayMessage("Warning: Could not initialize sample data - " + e.getMessage());
 
     }
 
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,14 +1,18 @@
 package controller;
 
+import java.util.ArrayList;
 import java.util.List;
+import model.CachingCostStrategy;
 import model.FlatRateStrategy;
 import model.LendingCostStrategy;
 import model.entity.Contract;
+import model.entity.ContractView;
 import model.entity.Item;
 import model.entity.Member;
 import model.service.ContractService;
 import model.service.ItemService;
 import model.service.MemberService;
+import model.service.Page;
 import view.MenuView;
 
 /**
@@ -19,6 +23,8 @@ public class ContractController {
   private final ContractService contractService;
   private final MemberService memberService;
   private final ItemService itemService;
+  // flat rate for simplicity, priced once per item and length until the item changes
+  private final LendingCostStrategy strategy;
 
   /**
    * Constructor for ContractController.
@@ -32,6 +38,9 @@ public class ContractController {
     this.contractService = contractService;
     this.memberService = memberService;
     this.itemService = itemService;
+    CachingCostStrategy prices = new CachingCostStrategy(new FlatRateStrategy());
+    itemService.subscribe(prices::forget);
+    this.strategy = prices;
   }
 
   /**
@@ -56,18 +65,14 @@ public class ContractController {
       }
       
       // Get the actual owner from member service.
-      Member ownerCopy = item.getOwner();
-      Member owner = memberService.findMemberById(ownerCopy.getMemberId());
+      Member owner = memberService.findMemberById(item.getOwnerId());
       
       int startDay = view.promptInt("Enter start day:");
       int endDay = view.promptInt("Enter end day:");
       
-      // Use flat rate strategy for simplicity
-      LendingCostStrategy strategy = new FlatRateStrategy();
-      
       Contract contract = createContract(borrower, owner, item, startDay, endDay, strategy);
       view.displaySuccess("Contract created successfully!");
-      view.displayContractDetails(contract);
+      view.displayContractDetails(contract.view());
     } catch (Exception e) {
       view.displayError("Failed to create contract: " + e.getMessage());
     }
@@ -80,8 +85,16 @@ public class ContractController {
    */
   public void handleListContracts(MenuView view) {
     try {
-      List<Contract> contracts = getAllContracts();
-      view.displayContracts(contracts);
+      String cursor = null;
+      do {
+        Page<Contract> page = contractService.pageContracts(cursor, view.getPageSize());
+        List<ContractView> views = new ArrayList<>(page.getEntries().size());
+        for (Contract contract : page.getEntries()) {
+          views.add(contract.view());
+        }
+        view.displayContracts(views);
+        cursor = page.getNextCursor();
+      } while (cursor != null && view.promptNextPage());
     } catch (Exception e) {
       view.displayError("Failed to list contracts: " + e.getMessage());
     }
@@ -1,10 +1,12 @@
 package controller;
 
+import java.util.ArrayList;
 import java.util.List;
-import model.entity.Contract;
 import model.entity.Item;
 import model.entity.Item.Category;
+import model.entity.ItemView;
 import model.service.ItemService;
+import model.service.Page;
 import view.MenuView;
 
 /**
@@ -49,13 +51,42 @@ public class ItemController {
    */
   public void handleListItems(MenuView view) {
     try {
-      List<Item> items = getAllItems();
-      view.displayItems(items);
+      String cursor = null;
+      do {
+        Page<Item> page = itemService.pageItems(cursor, view.getPageSize());
+        List<ItemView> views = new ArrayList<>(page.getEntries().size());
+        for (Item item : page.getEntries()) {
+          views.add(item.view());
+        }
+        view.displayItems(views);
+        cursor = page.getNextCursor();
+      } while (cursor != null && view.promptNextPage());
     } catch (Exception e) {
       view.displayError("Failed to list items: " + e.getMessage());
     }
   }
 
+  /**
+   * Handle search items from UI.
+   *
+   * @param view the view to interact with
+   */
+  public void handleSearchItems(MenuView view) {
+    try {
+      String query = view.prompt("Search for:");
+      Category category = view.promptOptionalCategory(
+          "Category (TOOL, VEHICLE, GAME, TOY, SPORT, OTHER, Enter for any):");
+      List<Item> items = itemService.search(query, category, view.getPageSize());
+      List<ItemView> views = new ArrayList<>(items.size());
+      for (Item item : items) {
+        views.add(item.view());
+      }
+      view.displayItems(views);
+    } catch (Exception e) {
+      view.displayError("Failed to search items: " + e.getMessage());
+    }
+  }
+
   /**
    * Handle view item details from UI.
    *
@@ -71,9 +102,7 @@ public class ItemController {
       }
       
       // Get contracts from the item itself
-      List<Contract> contracts = item.getContracts();
-      
-      view.displayItemWithContracts(item, contracts);
+      view.displayItemWithContracts(item.view(), item.contractViews());
     } catch (Exception e) {
       view.displayError("Failed to view item details: " + e.getMessage());
     }
@@ -93,8 +122,8 @@ public class ItemController {
         return;
       }
       
-      view.displayItemDetails(item);
-      System.out.println("\nEnter new values (press Enter to keep current value):");
+      view.displayItemDetails(item.view());
+      view.displayMessage("\nEnter new values (press Enter to keep current value):");
       
       String name = view.prompt("Name [" + item.getName() + "]:");
       if (name.isEmpty()) {
@@ -119,7 +148,7 @@ public class ItemController {
       if (updated) {
         view.displaySuccess("Item updated successfully!");
         Item updatedItem = itemService.findItemById(itemId);
-        view.displayItemDetails(updatedItem);
+        view.displayItemDetails(updatedItem.view());
       } else {
         view.displayError("Failed to update item.");
       }
@@ -142,7 +171,7 @@ public class ItemController {
         return;
       }
       
-      view.displayItemDetails(item);
+      view.displayItemDetails(item.view());
       String confirm = view.prompt("Are you sure you want to delete this item? (yes/no):");
       
       if ("yes".equalsIgnoreCase(confirm.trim())) {
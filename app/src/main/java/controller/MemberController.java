@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import model.entity.Member;
+import model.entity.MemberView;
 import model.service.MemberService;
+import model.service.Page;
 import view.MenuView;
 
 /**
@@ -50,9 +52,16 @@ public class MemberController {
    * @param verbose whether to show detailed information
    */
   public void handleListMembers(MenuView view, boolean verbose) {
-    Collection<Member> members = listAllMembers();
-    List<Member> memberList = new ArrayList<>(members);
-    view.displayMembers(memberList, verbose);
+    String cursor = null;
+    do {
+      Page<Member> page = memberService.pageMembers(cursor, view.getPageSize());
+      List<MemberView> memberList = new ArrayList<>(page.getEntries().size());
+      for (Member member : page.getEntries()) {
+        memberList.add(member.view());
+      }
+      view.displayMembers(memberList, verbose);
+      cursor = page.getNextCursor();
+    } while (cursor != null && view.promptNextPage());
   }
   
   /**
@@ -64,7 +73,7 @@ public class MemberController {
     try {
       String id = view.promptMemberId();
       String info = viewMemberDetails(id);
-      System.out.println("\n=== Member details ===\n" + info);
+      view.displayMemberDetails("\n=== Member details ===\n" + info);
     } catch (Exception e) {
       view.displayError("Failed to view member: " + e.getMessage());
     }
@@ -82,7 +91,7 @@ public class MemberController {
             + "\nEmail: " + member.getEmail()
             + "\nPhone number: " + member.getPhone()
             + "\nCredits: " + member.getCredit()
-            + "\nOwned Items: " + member.getOwnedItems().size();
+            + "\nOwned Items: " + member.getOwnedItemCount();
   }
 
   /**
@@ -130,7 +139,7 @@ public class MemberController {
     try {
       String id = view.promptMemberId();
       boolean ok = deleteMember(id);
-      System.out.println(ok ? "Member deleted..." : "No member deleted (id not found)...");
+      view.displayMessage(ok ? "Member deleted..." : "No member deleted (id not found)...");
     } catch (Exception e) {
       view.displayError("Failed to delete member: " + e.getMessage());
     }
@@ -159,9 +168,9 @@ public class MemberController {
     try {
       String[] f = view.promptMemberUpdate();
       Member update = updateMember(f[0], f[1], f[2], f[3]);
-      System.out.println("Member updated: " + update);
+      view.displayMessage("Member updated: " + update);
     } catch (IllegalArgumentException e) {
-      System.out.println("Failed to update member: " + e.getMessage());
+      view.displayMessage("Failed to update member: " + e.getMessage());
     }
   }
 
@@ -0,0 +1,380 @@
+package controller.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.ContractService;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.Page;
+import model.service.TimeService;
+
+/**
+ * Local HTTP API over the services, built on the JDK's HTTP server. Responses
+ * are JSON; request parameters come from the query string or a form-encoded
+ * body. Each request runs on its own virtual thread when the runtime has them
+ * (Java 21 and later), otherwise on a cached thread pool.
+ *
+ * <pre>
+ * GET    /members[?cursor=&amp;limit=]       POST /members (name, phone, email)
+ * GET    /members/{id}                    DELETE /members/{id}
+ * GET    /items[?cursor=&amp;limit=|?q=&amp;category=]
+ * POST   /items (name, category, description, costPerDay, ownerId)
+ * GET    /items/{id}                      DELETE /items/{id}
+ * GET    /contracts[?cursor=&amp;limit=]     POST /contracts (borrowerId, itemId, startDay, endDay)
+ * GET    /contracts/quote?borrowerId=&amp;itemId=&amp;startDay=&amp;endDay=
+ * GET    /day                             POST /day/advance[?days=]
+ * </pre>
+ */
+public class ApiServer {
+  private static final int DEFAULT_LIMIT = 20;
+  private static final int MAX_LIMIT = 1000;
+  private static final int NOT_FOUND = 404;
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final MemberService memberService;
+  private final ItemService itemService;
+  private final ContractService contractService;
+  private final TimeService time;
+  private final LendingCostStrategy strategy = new FlatRateStrategy();
+
+  static {
+    // The JDK server writes headers and body separately; with Nagle on, every
+    // small response waits for the client's delayed ACK (about 40 ms). Read once
+    // when the first server is created, so it must be set before that.
+    if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+      System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+  }
+
+  /**
+   * Creates a server bound to the address; call start to accept requests.
+   *
+   * @param address where to listen, port 0 picks a free port
+   * @param memberService the member service
+   * @param itemService the item service
+   * @param contractService the contract service
+   * @param time the global clock
+   * @throws IOException if the address cannot be bound
+   */
+  public ApiServer(InetSocketAddress address, MemberService memberService, ItemService itemService,
+                   ContractService contractService, TimeService time) throws IOException {
+    this.memberService = Objects.requireNonNull(memberService);
+    this.itemService = Objects.requireNonNull(itemService);
+    this.contractService = Objects.requireNonNull(contractService);
+    this.time = Objects.requireNonNull(time);
+    this.server = HttpServer.create(address, 0);
+    this.executor = newRequestExecutor();
+    server.setExecutor(executor);
+    server.createContext("/members", exchange -> handle(exchange, this::members));
+    server.createContext("/items", exchange -> handle(exchange, this::items));
+    server.createContext("/contracts", exchange -> handle(exchange, this::contracts));
+    server.createContext("/day", exchange -> handle(exchange, this::day));
+  }
+
+  /**
+   * Starts accepting requests.
+   */
+  public void start() {
+    server.start();
+  }
+
+  /**
+   * Stops the server, letting running requests finish for up to a second.
+   */
+  public void stop() {
+    server.stop(1);
+    executor.shutdown();
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return the port
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Uses a virtual thread per request when the runtime offers it. Looked up
+   * reflectively so the code still compiles and runs on Java 17.
+   */
+  static ExecutorService newRequestExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+   * A parsed request: the path below the context, the method and the parameters.
+   */
+  private record Request(String method, List<String> path, Map<String, String> params) {
+    String param(String name) {
+      String value = params.get(name);
+      if (value == null || value.isEmpty()) {
+        throw new IllegalArgumentException("Missing parameter " + name);
+      }
+      return value;
+    }
+
+    int intParam(String name, int fallback) {
+      String value = params.get(name);
+      return value == null || value.isEmpty() ? fallback : parseInt(name, value);
+    }
+
+    int intParam(String name) {
+      return parseInt(name, param(name));
+    }
+
+    private static int parseInt(String name, String value) {
+      try {
+        return Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Parameter " + name + " must be a whole number");
+      }
+    }
+  }
+
+  /**
+   * A response ready to send.
+   */
+  private record Response(int status, StringBuilder body) {
+  }
+
+  private interface Route {
+    Response apply(Request request) throws Exception;
+  }
+
+  private void handle(HttpExchange exchange, Route route) throws IOException {
+    Response response;
+    try {
+      response = route.apply(parse(exchange));
+    } catch (IllegalArgumentException e) {
+      response = error(400, e.getMessage());
+    } catch (Exception e) {
+      response = error(500, e.getMessage());
+    }
+    byte[] bytes = response.body().toString().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+    // -1 tells the server there is no body at all, 0 would mean chunked
+    exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Request parse(HttpExchange exchange) throws IOException {
+    String context = exchange.getHttpContext().getPath();
+    String rest = exchange.getRequestURI().getPath().substring(context.length());
+    List<String> path = new ArrayList<>();
+    for (String segment : rest.split("/")) {
+      if (!segment.isEmpty()) {
+        path.add(segment);
+      }
+    }
+    Map<String, String> params = new HashMap<>();
+    decodeForm(exchange.getRequestURI().getRawQuery(), params);
+    try (InputStream in = exchange.getRequestBody()) {
+      decodeForm(new String(in.readAllBytes(), StandardCharsets.UTF_8), params);
+    }
+    return new Request(exchange.getRequestMethod(), path, params);
+  }
+
+  private static void decodeForm(String form, Map<String, String> params) {
+    if (form == null || form.isEmpty()) {
+      return;
+    }
+    for (String pair : form.split("&")) {
+      int eq = pair.indexOf('=');
+      String key = eq < 0 ? pair : pair.substring(0, eq);
+      String value = eq < 0 ? "" : pair.substring(eq + 1);
+      params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+  }
+
+  private Response members(Request request) {
+    List<String> path = request.path();
+    if (path.isEmpty() && "GET".equals(request.method())) {
+      Page<Member> page = memberService.pageMembers(request.params().get("cursor"), limit(request));
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.page(out, page.getEntries(), page.getNextCursor(),
+          (sb, member) -> JsonEncoder.member(sb, member.view()));
+      return ok(out);
+    }
+    if (path.isEmpty() && "POST".equals(request.method())) {
+      Member member = memberService.createMember(request.param("name"), request.param("phone"),
+          request.param("email"));
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.member(out, member.view());
+      return new Response(201, out);
+    }
+    if (path.size() == 1) {
+      Member member = memberService.findMemberById(path.get(0));
+      if (member == null) {
+        return error(NOT_FOUND, "No member with " + path.get(0));
+      }
+      if ("DELETE".equals(request.method())) {
+        memberService.deleteMemberById(path.get(0));
+        return new Response(204, new StringBuilder());
+      }
+      if ("GET".equals(request.method())) {
+        StringBuilder out = new StringBuilder();
+        JsonEncoder.member(out, member.view());
+        return ok(out);
+      }
+    }
+    return unsupported(request);
+  }
+
+  private Response items(Request request) {
+    List<String> path = request.path();
+    if (path.isEmpty() && "GET".equals(request.method())) {
+      StringBuilder out = new StringBuilder();
+      if (request.params().containsKey("q") || request.params().containsKey("category")) {
+        String category = request.params().get("category");
+        List<Item> found = itemService.search(request.params().getOrDefault("q", ""),
+            category == null || category.isEmpty() ? null : category(category), limit(request));
+        JsonEncoder.array(out, found, (sb, item) -> JsonEncoder.item(sb, item.view()));
+      } else {
+        Page<Item> page = itemService.pageItems(request.params().get("cursor"), limit(request));
+        JsonEncoder.page(out, page.getEntries(), page.getNextCursor(),
+            (sb, item) -> JsonEncoder.item(sb, item.view()));
+      }
+      return ok(out);
+    }
+    if (path.isEmpty() && "POST".equals(request.method())) {
+      double costPerDay;
+      try {
+        costPerDay = Double.parseDouble(request.param("costPerDay"));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Parameter costPerDay must be a number");
+      }
+      Item item = itemService.createItem(request.param("name"),
+          category(request.param("category")), request.param("description"), costPerDay,
+          request.param("ownerId"));
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.item(out, item.view());
+      return new Response(201, out);
+    }
+    if (path.size() == 1) {
+      Item item = itemService.findItemById(path.get(0));
+      if (item == null) {
+        return error(NOT_FOUND, "No item with " + path.get(0));
+      }
+      if ("DELETE".equals(request.method())) {
+        itemService.deleteItem(path.get(0));
+        return new Response(204, new StringBuilder());
+      }
+      if ("GET".equals(request.method())) {
+        StringBuilder out = new StringBuilder();
+        JsonEncoder.item(out, item.view());
+        return ok(out);
+      }
+    }
+    return unsupported(request);
+  }
+
+  private Response contracts(Request request) throws Exception {
+    List<String> path = request.path();
+    if (path.isEmpty() && "GET".equals(request.method())) {
+      Page<Contract> page =
+          contractService.pageContracts(request.params().get("cursor"), limit(request));
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.page(out, page.getEntries(), page.getNextCursor(),
+          (sb, contract) -> JsonEncoder.contract(sb, contract.view()));
+      return ok(out);
+    }
+    if (path.size() == 1 && "quote".equals(path.get(0)) && "GET".equals(request.method())) {
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.quote(out, contractService.quote(request.param("borrowerId"),
+          request.param("itemId"), request.intParam("startDay"), request.intParam("endDay"),
+          strategy));
+      return ok(out);
+    }
+    if (path.isEmpty() && "POST".equals(request.method())) {
+      Member borrower = memberService.findMemberById(request.param("borrowerId"));
+      Item item = itemService.findItemById(request.param("itemId"));
+      if (borrower == null || item == null) {
+        return error(NOT_FOUND, borrower == null ? "No member with " + request.param("borrowerId")
+            : "No item with " + request.param("itemId"));
+      }
+      Member owner = memberService.findMemberById(item.getOwnerId());
+      Contract contract = contractService.createContract(borrower, owner, item,
+          request.intParam("startDay"), request.intParam("endDay"), strategy);
+      StringBuilder out = new StringBuilder();
+      JsonEncoder.contract(out, contract.view());
+      return new Response(201, out);
+    }
+    return unsupported(request);
+  }
+
+  private Response day(Request request) {
+    List<String> path = request.path();
+    if (path.isEmpty() && "GET".equals(request.method())) {
+      StringBuilder out = new StringBuilder("{");
+      JsonEncoder.field(out, "day", time.getCurrentDay()).append('}');
+      return ok(out);
+    }
+    if (path.size() == 1 && "advance".equals(path.get(0)) && "POST".equals(request.method())) {
+      int days = request.intParam("days", 1);
+      int to = time.advanceDays(days);
+      StringBuilder out = new StringBuilder("{");
+      JsonEncoder.field(out, "from", to - days).append(',');
+      JsonEncoder.field(out, "to", to).append('}');
+      return ok(out);
+    }
+    return unsupported(request);
+  }
+
+  private static Item.Category category(String name) {
+    return Item.Category.valueOf(name.toUpperCase(Locale.ROOT));
+  }
+
+  private static int limit(Request request) {
+    int limit = request.intParam("limit", DEFAULT_LIMIT);
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new IllegalArgumentException("Parameter limit must be between 1 and " + MAX_LIMIT);
+    }
+    return limit;
+  }
+
+  private static Response ok(StringBuilder body) {
+    return new Response(200, body);
+  }
+
+  private static Response unsupported(Request request) {
+    return error(NOT_FOUND, "No route for " + request.method() + " " + String.join("/",
+        request.path()));
+  }
+
+  private static Response error(int status, String message) {
+    StringBuilder out = new StringBuilder("{");
+    JsonEncoder.field(out, "error", message).append('}');
+    return new Response(status, out);
+  }
+}
@@ -0,0 +1,142 @@
+package controller.http;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import model.entity.ContractView;
+import model.entity.ItemView;
+import model.entity.MemberView;
+import model.service.Quote;
+
+/**
+ * Writes the API's JSON by hand, one method per type, so encoding needs no
+ * reflection and builds each response in a single StringBuilder.
+ */
+final class JsonEncoder {
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private JsonEncoder() {
+  }
+
+  static void member(StringBuilder out, MemberView member) {
+    out.append('{');
+    field(out, "memberId", member.memberId()).append(',');
+    field(out, "name", member.name()).append(',');
+    field(out, "email", member.email()).append(',');
+    field(out, "phone", member.phone()).append(',');
+    field(out, "credit", member.credit()).append(',');
+    field(out, "createdDate", member.createdDate()).append(',');
+    field(out, "ownedItemCount", member.ownedItemCount());
+    out.append('}');
+  }
+
+  static void item(StringBuilder out, ItemView item) {
+    out.append('{');
+    field(out, "itemId", item.itemId()).append(',');
+    field(out, "name", item.name()).append(',');
+    field(out, "category", item.category().name()).append(',');
+    field(out, "description", item.description()).append(',');
+    field(out, "costPerDay", item.costPerDay()).append(',');
+    field(out, "creationDate", item.creationDate()).append(',');
+    field(out, "ownerId", item.ownerId()).append(',');
+    field(out, "ownerName", item.ownerName());
+    out.append('}');
+  }
+
+  static void contract(StringBuilder out, ContractView contract) {
+    out.append('{');
+    field(out, "contractId", contract.contractId()).append(',');
+    field(out, "itemId", contract.itemId()).append(',');
+    field(out, "itemName", contract.itemName()).append(',');
+    field(out, "borrowerId", contract.borrowerId()).append(',');
+    field(out, "borrowerName", contract.borrowerName()).append(',');
+    field(out, "startDay", contract.startDay()).append(',');
+    field(out, "endDay", contract.endDay()).append(',');
+    field(out, "totalCost", contract.totalCost()).append(',');
+    out.append("\"valid\":").append(contract.valid());
+    out.append('}');
+  }
+
+  static void quote(StringBuilder out, Quote quote) {
+    out.append('{');
+    field(out, "borrowerId", quote.getBorrowerId()).append(',');
+    field(out, "itemId", quote.getItemId()).append(',');
+    field(out, "startDay", quote.getStartDay()).append(',');
+    field(out, "endDay", quote.getEndDay()).append(',');
+    field(out, "cost", quote.getCost()).append(',');
+    out.append("\"bookable\":").append(quote.isBookable()).append(',');
+    field(out, "rejection", quote.getRejection());
+    out.append('}');
+  }
+
+  /**
+   * Writes a page of results as {"entries":[...],"nextCursor":...}.
+   */
+  static <T> void page(StringBuilder out, List<T> entries, String nextCursor,
+                       BiConsumer<StringBuilder, T> encoder) {
+    out.append("{\"entries\":");
+    array(out, entries, encoder);
+    out.append(',');
+    field(out, "nextCursor", nextCursor);
+    out.append('}');
+  }
+
+  static <T> void array(StringBuilder out, List<T> entries, BiConsumer<StringBuilder, T> encoder) {
+    out.append('[');
+    for (int i = 0; i < entries.size(); i++) {
+      if (i > 0) {
+        out.append(',');
+      }
+      encoder.accept(out, entries.get(i));
+    }
+    out.append(']');
+  }
+
+  static StringBuilder field(StringBuilder out, String name, String value) {
+    string(out, name).append(':');
+    return value == null ? out.append("null") : string(out, value);
+  }
+
+  static StringBuilder field(StringBuilder out, String name, double value) {
+    string(out, name).append(':');
+    // JSON has no NaN or infinity
+    return Double.isFinite(value) ? out.append(value) : out.append("null");
+  }
+
+  static StringBuilder field(StringBuilder out, String name, long value) {
+    return string(out, name).append(':').append(value);
+  }
+
+  /**
+   * Writes a quoted string, escaping quotes, backslashes and control characters.
+   */
+  static StringBuilder string(StringBuilder out, String value) {
+    out.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          out.append("\\\"");
+          break;
+        case '\\':
+          out.append("\\\\");
+          break;
+        case '\n':
+          out.append("\\n");
+          break;
+        case '\r':
+          out.append("\\r");
+          break;
+        case '\t':
+          out.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+          } else {
+            out.append(c);
+          }
+      }
+    }
+    return out.append('"');
+  }
+}
@@ -0,0 +1,120 @@
+package model;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import model.entity.Item;
+
+/**
+ * Remembers the prices of another strategy per item and number of days. A
+ * price is reused until the item's cost per day changes, so the wrapped
+ * strategy must depend only on the cost per day and the number of days.
+ *
+ * <p>At most maxItems items are remembered, each with a table of prices
+ * indexed by day count, so a lookup allocates nothing. Lending periods longer
+ * than {@link #MAX_DAYS} are priced every time. Call {@link #forget} when an
+ * item changes or is deleted.
+ */
+public class CachingCostStrategy implements LendingCostStrategy {
+  /** Number of items remembered when no limit is given. */
+  public static final int DEFAULT_MAX_ITEMS = 10_000;
+  /** Longest lending period whose price is remembered. */
+  public static final int MAX_DAYS = 64;
+
+  private static final long UNKNOWN = Double.doubleToRawLongBits(Double.NaN);
+
+  private final LendingCostStrategy delegate;
+  private final int maxItems;
+  private final ConcurrentHashMap<String, Prices> prices = new ConcurrentHashMap<>();
+
+  /**
+   * Prices of one item at one cost per day; a new rate replaces the whole table.
+   */
+  private static final class Prices {
+    private final double costPerDay;
+    private final AtomicLongArray costs = new AtomicLongArray(MAX_DAYS + 1); // raw double bits
+
+    private Prices(double costPerDay) {
+      this.costPerDay = costPerDay;
+      for (int days = 0; days <= MAX_DAYS; days++) {
+        costs.set(days, UNKNOWN);
+      }
+    }
+  }
+
+  /**
+   * Creates a caching wrapper that remembers up to DEFAULT_MAX_ITEMS items.
+   *
+   * @param delegate the strategy that works out prices on a cache miss
+   */
+  public CachingCostStrategy(LendingCostStrategy delegate) {
+    this(delegate, DEFAULT_MAX_ITEMS);
+  }
+
+  /**
+   * Creates a caching wrapper.
+   *
+   * @param delegate the strategy that works out prices on a cache miss
+   * @param maxItems the most items to remember prices for
+   */
+  public CachingCostStrategy(LendingCostStrategy delegate, int maxItems) {
+    if (maxItems < 1) {
+      throw new IllegalArgumentException("Max items must be at least 1");
+    }
+    this.delegate = Objects.requireNonNull(delegate);
+    this.maxItems = maxItems;
+  }
+
+  @Override
+  public double calcLendingCost(Item item, int days) {
+    if (days < 0 || days > MAX_DAYS) {
+      return delegate.calcLendingCost(item, days);
+    }
+    double costPerDay = item.getCostPerDay();
+    String itemId = item.getItemId();
+    Prices entry = prices.get(itemId);
+    if (entry == null || Double.compare(entry.costPerDay, costPerDay) != 0) {
+      // keyed by the rate read before pricing, so a concurrent rate change misses next time
+      entry = new Prices(costPerDay);
+      if (prices.put(itemId, entry) == null) {
+        evictBeyondLimit(itemId);
+      }
+    }
+    long bits = entry.costs.get(days);
+    if (bits != UNKNOWN) {
+      return Double.longBitsToDouble(bits);
+    }
+    double cost = delegate.calcLendingCost(item, days);
+    entry.costs.set(days, Double.doubleToRawLongBits(cost));
+    return cost;
+  }
+
+  /**
+   * Drops the remembered prices of an item.
+   *
+   * @param itemId the ID of the changed or deleted item
+   */
+  public void forget(String itemId) {
+    prices.remove(itemId);
+  }
+
+  /**
+   * Gets the number of items with remembered prices.
+   *
+   * @return the cache size
+   */
+  public int size() {
+    return prices.size();
+  }
+
+  private void evictBeyondLimit(String added) {
+    // any other item will do, the cache only has to stay bounded
+    Iterator<String> it = prices.keySet().iterator();
+    while (prices.size() > maxItems && it.hasNext()) {
+      if (!it.next().equals(added)) {
+        it.remove();
+      }
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package model.entity;
 
-import java.security.SecureRandom;
 import java.util.Objects;
 import model.LendingCostStrategy;
 import model.service.TimeService;
@@ -9,18 +8,16 @@ import model.service.TimeService;
  * Class Contract representing a lending agreement.
  */
 public class Contract {
-  private static final String ALPHANUM = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-  private static final SecureRandom RAND = new SecureRandom();
   
   private final String contractId; // id for the contract
   private final Member borrower; // member who is renting the item
   private final Item item; // item being rented
   private final int startDay; // start date of the contract
   private final int endDay; // end date of the contract
-  private final LendingCostStrategy lendingCostStrategy;
   private final TimeService time;
-  private final boolean isValid; // check to see if the contract is valid
+  private final String rejection; // why the contract is invalid, null if valid
   private final double totalCost; // total cost of the contract
+  private volatile Status status; // set once a scheduler tracks the contract, else derived
 
   /**
    * Constructor for the Contract class.
@@ -39,35 +36,60 @@ public class Contract {
     this.item = Objects.requireNonNull(item, "Item required");
     this.startDay = startDay;
     this.endDay = endDay;
-    this.lendingCostStrategy = Objects.requireNonNull(costStrategy);
+    Objects.requireNonNull(costStrategy);
     this.time = Objects.requireNonNull(time);
-    this.isValid = validate();
 
-    // compute cost and validation
-    this.totalCost = isValid ? lendingCostStrategy.calcLendingCost(item, endDay - startDay + 1) : 0.0;
+    // price once, and only when the terms allow a booking at all
+    String reason = checkTerms();
+    double cost = reason == null ? costStrategy.calcLendingCost(item, endDay - startDay + 1) : 0.0;
+    if (reason == null && borrower.getCredit() < cost) {
+      reason = "Insufficient credit";
+    }
+    this.rejection = reason;
+    this.totalCost = reason == null ? cost : 0.0;
+  }
+
+  /**
+   * Restores a previously persisted contract. The contract was validated when it
+   * was first created, so it is not validated again.
+   *
+   * @param contractId the stored contract ID
+   * @param borrower the member who is renting the item
+   * @param item the item being rented
+   * @param startDay the start date of the contract
+   * @param endDay the end date of the contract
+   * @param totalCost the cost that was charged
+   * @param time the time service
+   */
+  public Contract(String contractId, Member borrower, Item item, int startDay, int endDay,
+                  double totalCost, TimeService time) {
+    this.contractId = Objects.requireNonNull(contractId, "Contract ID required");
+    IdAllocator.CONTRACTS.observe(contractId);
+    this.borrower = Objects.requireNonNull(borrower, "Borrower required");
+    this.item = Objects.requireNonNull(item, "Item required");
+    this.startDay = startDay;
+    this.endDay = endDay;
+    this.time = Objects.requireNonNull(time);
+    this.rejection = null;
+    this.totalCost = totalCost;
   }
 
   /**
-   * Validates the contract conditions.
+   * Checks the contract conditions that do not depend on the price.
    *
-   * @return true if the contract is valid
+   * @return the reason the contract is invalid, or null if the terms are fine
    */
-  private boolean validate() {
+  private String checkTerms() {
     if (startDay < time.getCurrentDay()) {
-      return false;
+      return "Start day is in the past";
     }
     if (startDay > endDay) {
-      return false;
+      return "Start day is after end day";
     }
     if (!item.isAvailable(startDay, endDay)) {
-      return false;
-    }
-    int days = endDay - startDay + 1;
-    double cost = lendingCostStrategy.calcLendingCost(item, days);
-    if (borrower.getCredit() < cost) {
-      return false;
+      return "Item is not available";
     }
-    return true;
+    return null;
   }
 
   /**
@@ -76,7 +98,16 @@ public class Contract {
    * @return true if valid
    */
   public boolean valid() {
-    return isValid;
+    return rejection == null;
+  }
+
+  /**
+   * Gets the reason the contract is invalid.
+   *
+   * @return the reason, or null if the contract is valid
+   */
+  public String getRejection() {
+    return rejection;
   }
 
   /**
@@ -85,11 +116,62 @@ public class Contract {
    * @return a unique 6-character alphanumeric ID
    */
   private String generateUniqueId() {
-    StringBuilder sb = new StringBuilder(6);
-    for (int i = 0; i < 6; i++) {
-      sb.append(ALPHANUM.charAt(RAND.nextInt(ALPHANUM.length())));
+    return IdAllocator.CONTRACTS.next();
+  }
+
+  /**
+   * Lifecycle of a contract.
+   */
+  public enum Status {
+    /** Booked, the start day has not come yet. */
+    BOOKED,
+    /** The item is with the borrower. */
+    ACTIVE,
+    /** The end day has passed and the item is back with its owner. */
+    RETURNED
+  }
+
+  /**
+   * Gets the lifecycle status. A scheduled contract reports the status the
+   * scheduler last moved it to; otherwise it is worked out from the day.
+   *
+   * @return the status
+   */
+  public Status getStatus() {
+    Status current = status;
+    if (current != null) {
+      return current;
+    }
+    int today = time.getCurrentDay();
+    if (today > endDay) {
+      return Status.RETURNED;
+    }
+    return today >= startDay ? Status.ACTIVE : Status.BOOKED;
+  }
+
+  /**
+   * Moves the contract forward in its lifecycle. Called by the scheduler.
+   *
+   * @param next the new status
+   * @return false if the contract was already at or past that status
+   */
+  public synchronized boolean advanceStatus(Status next) {
+    if (status != null && next.ordinal() <= status.ordinal()) {
+      return false;
     }
-    return sb.toString();
+    status = next;
+    return true;
+  }
+
+  /**
+   * Drops the contract from its item's availability index once it is over.
+   * The contract stays in the item's history; a finished booking can never
+   * overlap a new one, since new bookings cannot start in the past.
+   *
+   * @return false if the booking was already dropped
+   */
+  public boolean expireBooking() {
+    return item.expireBooking(this);
   }
 
   /**
@@ -98,7 +180,7 @@ public class Contract {
    * @return true if returned
    */
   public boolean isReturned() {
-    return time.getCurrentDay() > endDay;
+    return getStatus() == Status.RETURNED;
   }
 
   /**
@@ -154,5 +236,42 @@ public class Contract {
   public Item getItem() {
     return new Item(item);
   }
+
+  /**
+   * Gets the item ID without copying the item.
+   *
+   * @return the item ID
+   */
+  public String getItemId() {
+    return item.getItemId();
+  }
+
+  /**
+   * Gets the item owner's ID without copying the item.
+   *
+   * @return the owner's member ID
+   */
+  public String getOwnerId() {
+    return item.getOwnerId();
+  }
+
+  /**
+   * Gets the borrower's ID without copying the borrower.
+   *
+   * @return the borrower's member ID
+   */
+  public String getBorrowerId() {
+    return borrower.getMemberId();
+  }
+
+  /**
+   * Creates a flat read-only view of the contract for display.
+   *
+   * @return the view
+   */
+  public ContractView view() {
+    return new ContractView(contractId, item.getItemId(), item.getName(),
+        borrower.getMemberId(), borrower.getName(), startDay, endDay, totalCost, valid());
+  }
 }
 
@@ -0,0 +1,20 @@
+package model.entity;
+
+/**
+ * An immutable, flat snapshot of a contract for display. The item and the
+ * borrower are carried as their IDs and names only.
+ *
+ * @param contractId the contract ID
+ * @param itemId the item ID
+ * @param itemName the item name
+ * @param borrowerId the borrower's member ID
+ * @param borrowerName the borrower's name
+ * @param startDay the start day
+ * @param endDay the end day
+ * @param totalCost the total cost
+ * @param valid whether the contract is valid
+ */
+public record ContractView(String contractId, String itemId, String itemName, String borrowerId,
+                           String borrowerName, int startDay, int endDay, double totalCost,
+                           boolean valid) {
+}
@@ -0,0 +1,115 @@
+package model.entity;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out 6-character IDs over [0-9A-Z] without locks or collision checks.
+ * Each ID is a counter value pushed through a fixed bijection on 36^6
+ * ({@code id = (a * counter + b) mod 36^6} with {@code a} coprime to 36), so
+ * distinct counter values always give distinct IDs while consecutive IDs
+ * still look unrelated.
+ *
+ * <p>IDs restored from a persistent store are passed to {@link #observe}.
+ * An ID this allocator issued maps back to its counter value, and the counter
+ * moves past it. IDs that map far ahead of the counter, such as the random
+ * IDs of older stores, are remembered and skipped when the counter reaches
+ * them, so only those few are held in memory.
+ */
+public final class IdAllocator {
+  /** Allocator for member IDs. */
+  public static final IdAllocator MEMBERS = new IdAllocator();
+  /** Allocator for item IDs. */
+  public static final IdAllocator ITEMS = new IdAllocator();
+  /** Allocator for contract IDs. */
+  public static final IdAllocator CONTRACTS = new IdAllocator();
+
+  private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+  private static final int LENGTH = 6;
+  private static final long SPACE = 2_176_782_336L; // 36^6
+  private static final long MULTIPLIER = 1_640_531_527L; // coprime to 36^6
+  private static final long INVERSE = 1_777_800_055L; // MULTIPLIER^-1 mod 36^6
+  private static final long OFFSET = 918_273_645L;
+  private static final long NEAR = 1 << 16; // observed counters this close are jumped past
+
+  private final AtomicLong counter = new AtomicLong();
+  private final Set<Long> reserved = ConcurrentHashMap.newKeySet();
+
+  IdAllocator() {
+  }
+
+  /**
+   * Allocates the next ID.
+   *
+   * @return a 6-character ID never returned or observed before
+   * @throws IllegalStateException if all 36^6 IDs are used up
+   */
+  public String next() {
+    while (true) {
+      long value = counter.getAndIncrement();
+      if (value >= SPACE) {
+        throw new IllegalStateException("ID space exhausted");
+      }
+      if (reserved.isEmpty() || !reserved.remove(value)) {
+        return encode(value);
+      }
+    }
+  }
+
+  /**
+   * Marks an existing ID as taken so it is never allocated. Meant for
+   * loading stored entities; IDs not in the 6-character format are ignored
+   * since next() cannot produce them.
+   *
+   * @param id the ID in use
+   */
+  public void observe(String id) {
+    long value = decode(id);
+    if (value < 0) {
+      return;
+    }
+    while (true) {
+      long current = counter.get();
+      if (value < current) {
+        return;
+      }
+      if (value - current >= NEAR) {
+        reserved.add(value);
+        if (counter.get() > value) {
+          reserved.remove(value); // the counter passed it before the reservation landed
+        }
+        return;
+      }
+      // the raise only lands if no next() moved the counter since it was read
+      if (counter.compareAndSet(current, value + 1)) {
+        return;
+      }
+    }
+  }
+
+  static String encode(long value) {
+    long id = (MULTIPLIER * value + OFFSET) % SPACE;
+    char[] chars = new char[LENGTH];
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET.charAt((int) (id % 36));
+      id /= 36;
+    }
+    return new String(chars);
+  }
+
+  static long decode(String id) {
+    if (id == null || id.length() != LENGTH) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      int digit = ALPHABET.indexOf(id.charAt(i));
+      if (digit < 0) {
+        return -1;
+      }
+      value = value * 36 + digit;
+    }
+    return (value - OFFSET + SPACE) % SPACE * INVERSE % SPACE;
+  }
+}
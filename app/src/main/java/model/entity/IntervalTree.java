@@ -0,0 +1,232 @@
+package model.entity;
+
+/**
+ * Augmented AVL interval tree over closed day ranges.
+ * Every node keeps the largest end day of its subtree so overlap queries
+ * can skip whole subtrees. Insert, remove and overlap checks run in O(log n).
+ *
+ * @param <T> the value stored for each interval
+ */
+final class IntervalTree<T> {
+  private Node<T> root;
+  private int size;
+  private boolean removed; // set by the recursive remove when the value was found
+
+  private static final class Node<T> {
+    final int start;
+    final int end;
+    final T value;
+    int maxEnd;
+    int height = 1;
+    Node<T> left;
+    Node<T> right;
+
+    Node(int start, int end, T value) {
+      this.start = start;
+      this.end = end;
+      this.value = value;
+      this.maxEnd = end;
+    }
+  }
+
+  /**
+   * Creates an empty tree.
+   */
+  IntervalTree() {
+  }
+
+  /**
+   * Creates a structural copy of another tree.
+   *
+   * @param other the tree to copy
+   */
+  IntervalTree(IntervalTree<T> other) {
+    this.root = copy(other.root);
+    this.size = other.size;
+  }
+
+  /**
+   * Gets the number of intervals in the tree.
+   *
+   * @return the size
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds an interval.
+   *
+   * @param start the first day of the interval
+   * @param end the last day of the interval
+   * @param value the value stored for the interval
+   */
+  void insert(int start, int end, T value) {
+    root = insertNode(root, new Node<>(start, end, value));
+    size++;
+  }
+
+  /**
+   * Removes an interval previously added with the same bounds and value.
+   *
+   * @param start the first day of the interval
+   * @param end the last day of the interval
+   * @param value the value to remove (compared by identity)
+   * @return true if the interval was found and removed
+   */
+  boolean remove(int start, int end, T value) {
+    removed = false;
+    root = removeNode(root, start, end, value);
+    if (removed) {
+      size--;
+    }
+    return removed;
+  }
+
+  /**
+   * Checks if any stored interval overlaps the given closed range.
+   *
+   * @param start the first day of the range
+   * @param end the last day of the range
+   * @return true if an overlapping interval exists
+   */
+  boolean overlaps(int start, int end) {
+    Node<T> node = root;
+    while (node != null) {
+      if (start <= node.end && end >= node.start) {
+        return true;
+      }
+      // Go left only if something on the left can still reach our start.
+      if (node.left != null && node.left.maxEnd >= start) {
+        node = node.left;
+      } else {
+        node = node.right;
+      }
+    }
+    return false;
+  }
+
+  private Node<T> insertNode(Node<T> node, Node<T> added) {
+    if (node == null) {
+      return added;
+    }
+    if (compare(added.start, added.end, node) < 0) {
+      node.left = insertNode(node.left, added);
+    } else {
+      node.right = insertNode(node.right, added);
+    }
+    return rebalance(node);
+  }
+
+  private Node<T> removeNode(Node<T> node, int start, int end, T value) {
+    if (node == null) {
+      return null;
+    }
+    int cmp = compare(start, end, node);
+    if (cmp < 0) {
+      node.left = removeNode(node.left, start, end, value);
+    } else if (cmp > 0) {
+      node.right = removeNode(node.right, start, end, value);
+    } else if (node.value == value) {
+      removed = true;
+      if (node.left == null) {
+        return node.right;
+      }
+      if (node.right == null) {
+        return node.left;
+      }
+      Node<T> successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      Node<T> replacement = new Node<>(successor.start, successor.end, successor.value);
+      replacement.left = node.left;
+      replacement.right = removeMin(node.right);
+      return rebalance(replacement);
+    } else {
+      // Equal bounds but another value: duplicates may sit on either side after rotations.
+      node.left = removeNode(node.left, start, end, value);
+      if (!removed) {
+        node.right = removeNode(node.right, start, end, value);
+      }
+    }
+    return rebalance(node);
+  }
+
+  private Node<T> removeMin(Node<T> node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = removeMin(node.left);
+    return rebalance(node);
+  }
+
+  private static int compare(int start, int end, Node<?> node) {
+    int cmp = Integer.compare(start, node.start);
+    return cmp != 0 ? cmp : Integer.compare(end, node.end);
+  }
+
+  private static int height(Node<?> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static <T> void update(Node<T> node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    int max = node.end;
+    if (node.left != null && node.left.maxEnd > max) {
+      max = node.left.maxEnd;
+    }
+    if (node.right != null && node.right.maxEnd > max) {
+      max = node.right.maxEnd;
+    }
+    node.maxEnd = max;
+  }
+
+  private static <T> Node<T> rebalance(Node<T> node) {
+    update(node);
+    int balance = height(node.left) - height(node.right);
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private static <T> Node<T> rotateRight(Node<T> node) {
+    Node<T> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static <T> Node<T> rotateLeft(Node<T> node) {
+    Node<T> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private static <T> Node<T> copy(Node<T> node) {
+    if (node == null) {
+      return null;
+    }
+    Node<T> copy = new Node<>(node.start, node.end, node.value);
+    copy.left = copy(node.left);
+    copy.right = copy(node.right);
+    copy.height = node.height;
+    copy.maxEnd = node.maxEnd;
+    return copy;
+  }
+}
@@ -1,6 +1,5 @@
 package model.entity;
 
-import java.security.SecureRandom;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -9,20 +8,20 @@ import model.service.TimeService;
 
 /**
  * Class Item representing an item in the lending system.
+ * The contract list and booking index are guarded by the item's monitor.
  */
 public class Item {
-  private static final String ALPHANUM = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-  private static final SecureRandom RAND = new SecureRandom();
   
   private final String itemId;
-  private String name;
-  private Category category;
-  private String description;
-  private double costPerDay;
+  private volatile String name;
+  private volatile Category category;
+  private volatile String description;
+  private volatile double costPerDay;
   private final int creationDate;
   private final TimeService time;
   private final Member owner; // owner of the item
   private List<Contract> contracts; // collection of contracts for the item
+  private IntervalTree<Contract> bookings; // contract day ranges indexed for overlap checks
 
   /**
    * Constructor for item.
@@ -45,6 +44,35 @@ public class Item {
     this.creationDate = time.getCurrentDay();
     this.owner = Objects.requireNonNull(owner, "Owner required");
     this.contracts = new ArrayList<>();
+    this.bookings = new IntervalTree<>();
+  }
+
+  /**
+   * Restores a previously persisted item with its original ID and creation date.
+   * The item is not registered with the owner; callers decide how to link it.
+   *
+   * @param itemId the stored item ID
+   * @param name of the item
+   * @param category the item belongs to
+   * @param description of the item
+   * @param costPerDay for item
+   * @param owner for owner of the item
+   * @param creationDate the day the item was created
+   * @param time the time service
+   */
+  public Item(String itemId, String name, Category category, String description, double costPerDay,
+              Member owner, int creationDate, TimeService time) {
+    this.itemId = Objects.requireNonNull(itemId, "Item ID required");
+    IdAllocator.ITEMS.observe(itemId);
+    this.time = time;
+    setName(name);
+    setCategory(category);
+    setDescription(description);
+    setCostPerDay(costPerDay);
+    this.creationDate = creationDate;
+    this.owner = Objects.requireNonNull(owner, "Owner required");
+    this.contracts = new ArrayList<>();
+    this.bookings = new IntervalTree<>();
   }
 
   /**
@@ -61,7 +89,10 @@ public class Item {
     this.creationDate = item.creationDate;
     this.time = item.time;
     this.owner = item.owner;
-    this.contracts = new ArrayList<>(item.contracts);
+    synchronized (item) {
+      this.contracts = new ArrayList<>(item.contracts);
+      this.bookings = new IntervalTree<>(item.bookings);
+    }
   }
 
   /**
@@ -140,13 +171,54 @@ public class Item {
     return new Member(owner);
   }
 
+  /**
+   * Gets the owner's ID without copying the owner.
+   *
+   * @return the owner's member ID
+   */
+  public String getOwnerId() {
+    return owner.getMemberId();
+  }
+
+  /**
+   * Gets the owner's name without copying the owner.
+   *
+   * @return the owner's name
+   */
+  public String getOwnerName() {
+    return owner.getName();
+  }
+
+  /**
+   * Creates a flat read-only view of the item for display.
+   *
+   * @return the view
+   */
+  public ItemView view() {
+    return new ItemView(itemId, name, category, description, costPerDay, creationDate,
+        owner.getMemberId(), owner.getName());
+  }
+
+  /**
+   * Creates read-only views of the item's contracts.
+   *
+   * @return the views, in booking order
+   */
+  public synchronized List<ContractView> contractViews() {
+    List<ContractView> views = new ArrayList<>(contracts.size());
+    for (Contract contract : contracts) {
+      views.add(contract.view());
+    }
+    return views;
+  }
+
   /**
    * Gets the contracts.
    *
-   * @return an unmodifiable list of contracts
+   * @return an unmodifiable snapshot of the contracts
    */
-  public List<Contract> getContracts() {
-    return Collections.unmodifiableList(contracts);
+  public synchronized List<Contract> getContracts() {
+    return Collections.unmodifiableList(new ArrayList<>(contracts));
   }
 
   /**
@@ -154,10 +226,11 @@ public class Item {
    *
    * @param contract the contract to remove
    */
-  public void removeContracts(Contract contract) {
+  public synchronized void removeContracts(Contract contract) {
     if (!contracts.remove(contract)) {
       throw new IllegalArgumentException("Contract not found");
     }
+    bookings.remove(contract.getStartDay(), contract.getEndDay(), contract);
   }
 
   /**
@@ -194,11 +267,7 @@ public class Item {
    * @return a unique 6-character alphanumeric ID
    */
   public static String generateUniqueId() {
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < 6; i++) {
-      sb.append(ALPHANUM.charAt(RAND.nextInt(ALPHANUM.length())));
-    }
-    return sb.toString();
+    return IdAllocator.ITEMS.next();
   }
 
   /**
@@ -232,16 +301,19 @@ public class Item {
    * @param endDate of the contract
    * @return true if the item is available, false otherwise
    */
-  public boolean isAvailable(int startDate, int endDate) {
-    for (Contract contract : contracts) {
-      int contractStart = contract.getStartDay();
-      int contractEnd = contract.getEndDay();     
-      // Check for overlap
-      if (startDate <= contractEnd && endDate >= contractStart) {
-        return false;
-      }
-    }
-    return true;
+  public synchronized boolean isAvailable(int startDate, int endDate) {
+    return !bookings.overlaps(startDate, endDate);
+  }
+
+  /**
+   * Removes a finished contract from the availability index. The contract
+   * stays in the item's history.
+   *
+   * @param contract the contract whose booking is over
+   * @return false if the booking was not in the index
+   */
+  public synchronized boolean expireBooking(Contract contract) {
+    return bookings.remove(contract.getStartDay(), contract.getEndDay(), contract);
   }
 
   /**
@@ -249,9 +321,10 @@ public class Item {
    *
    * @param contract the contract to be added
    */
-  public void addContract(Contract contract) {
+  public synchronized void addContract(Contract contract) {
     if (contract != null) {
       this.contracts.add(contract);
+      this.bookings.insert(contract.getStartDay(), contract.getEndDay(), contract);
     }
   }
 }
@@ -0,0 +1,18 @@
+package model.entity;
+
+/**
+ * An immutable, flat snapshot of an item for display. The owner is carried
+ * as its ID and name only.
+ *
+ * @param itemId the item ID
+ * @param name the item name
+ * @param category the item category
+ * @param description the item description
+ * @param costPerDay the cost per day
+ * @param creationDate the day the item was created
+ * @param ownerId the owner's member ID
+ * @param ownerName the owner's name
+ */
+public record ItemView(String itemId, String name, Item.Category category, String description,
+                       double costPerDay, int creationDate, String ownerId, String ownerName) {
+}
@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import model.ledger.Cents;
 
 
 /**
@@ -15,12 +17,12 @@ public class Member {
 
   private final String memberId;
   private final int createdDate;
-  private String name;
-  private String email;
-  private String phone;
-  private double credit = 0;
+  private volatile String name;
+  private volatile String email;
+  private volatile String phone;
+  private final AtomicLong creditCents = new AtomicLong(); // balance in whole cents
 
-  private List<Item> ownedItems;
+  private List<Item> ownedItems; // guarded by this
 
 
   /**
@@ -37,6 +39,8 @@ public class Member {
 
     this.memberId = Objects.requireNonNull(memberId, "member ID required");
 
+    IdAllocator.MEMBERS.observe(memberId);
+
     this.name = Objects.requireNonNull(name, "name required");
 
     this.phone = Objects.requireNonNull(phone, "phone no required");
@@ -57,7 +61,7 @@ public class Member {
 
 
   /**
-   * Constructor for testing purposes - generates a random test ID.
+   * Constructor for testing purposes - allocates a fresh ID.
    *
    * @param name      the member's name
    * @param email     the member's email
@@ -70,7 +74,7 @@ public class Member {
 
   public Member(String name, String email, String phone, int createDay) {
 
-    this(String.format("T%05d", System.nanoTime() % 100000), name, email, phone, createDay);
+    this(IdAllocator.MEMBERS.next(), name, email, phone, createDay);
 
   }
 
@@ -93,11 +97,15 @@ public class Member {
 
     this.createdDate = x.createdDate;
 
-    this.credit = x.credit;
+    this.creditCents.set(x.creditCents.get());
 
     // for deep copy sake
 
-    this.ownedItems = new ArrayList<>(x.ownedItems);
+    synchronized (x) {
+
+      this.ownedItems = new ArrayList<>(x.ownedItems);
+
+    }
 
   }
 
@@ -162,7 +170,68 @@ public class Member {
 
   public double getCredit() {
 
-    return credit;
+    return Cents.toCredits(creditCents.get());
+
+  }
+
+
+  /**
+   * Gets the member credit in cents.
+   *
+   * @return the balance in cents
+   */
+
+  public long getCreditCents() {
+
+    return creditCents.get();
+
+  }
+
+
+  /**
+   * Atomically withdraws cents if the balance covers them.
+   *
+   * @param cents the amount to withdraw
+   * @return true if withdrawn, false if the balance was too low
+   */
+
+  public boolean withdrawCents(long cents) {
+
+    long current;
+
+    do {
+
+      current = creditCents.get();
+
+      if (current < cents) {
+
+        return false;
+
+      }
+
+    } while (!creditCents.compareAndSet(current, current - cents));
+
+    return true;
+
+  }
+
+
+  /**
+   * Atomically deposits cents. Balances only go down through withdrawCents,
+   * so they never drop below zero.
+   *
+   * @param cents the amount to deposit
+   */
+
+  public void depositCents(long cents) {
+
+    if (cents < 0) {
+
+      throw new IllegalArgumentException("Amount cannot be less than 0");
+
+    }
+
+    creditCents.addAndGet(cents);
 
   }
 
@@ -181,7 +250,21 @@ public class Member {
 
     }
 
-    this.credit = credit;
+    this.creditCents.set(Cents.of(credit));
+
+  }
+
+
+  /**
+   * Restores a stored balance as it was saved, without the checks setCredit
+   * makes, so loading a store never fails on a balance it already holds.
+   *
+   * @param credit the stored credit amount
+   */
+
+  public void restoreCredit(double credit) {
+
+    this.creditCents.set(Cents.of(credit));
 
   }
 
@@ -213,14 +296,12 @@ public class Member {
 
     }
 
-    if (this.credit < amount) {
+    if (!withdrawCents(Cents.of(amount))) {
 
       throw new IllegalArgumentException("Insufficient credit");
 
     }
 
-    this.credit -= amount;
-
   }
 
 
@@ -277,7 +358,7 @@ public class Member {
 
     }
 
-    this.credit += amount;
+    depositCents(Cents.of(amount));
 
   }
 
@@ -292,9 +373,13 @@ public class Member {
 
   public void addItem(Item item) {
 
-    ownedItems.add(item);
+    synchronized (this) {
+
+      ownedItems.add(item);
+
+    }
 
-    this.credit += 100;
+    depositCents(Cents.of(100));
 
   }
 
@@ -302,12 +387,39 @@ public class Member {
   /**
    * Gets the member's owned items.
    *
-   * @return an unmodifiable list of owned items
+   * @return an unmodifiable copy of the owned items
+   */
+
+  public synchronized List<Item> getOwnedItems() {
+
+    return Collections.unmodifiableList(new ArrayList<>(ownedItems));
+
+  }
+
+
+  /**
+   * Gets the number of items the member owns, without copying the list.
+   *
+   * @return the owned item count
+   */
+
+  public synchronized int getOwnedItemCount() {
+
+    return ownedItems.size();
+
+  }
+
+
+  /**
+   * Creates a flat read-only view of the member for display.
+   *
+   * @return the view
    */
 
-  public List<Item> getOwnedItems() {
+  public MemberView view() {
 
-    return Collections.unmodifiableList(ownedItems);
+    return new MemberView(memberId, name, email, phone, getCredit(), createdDate,
+        getOwnedItemCount());
 
   }
 
@@ -318,7 +430,7 @@ public class Member {
    * @param item the item to remove
    */
 
-  public void removeItem(Item item) {
+  public synchronized void removeItem(Item item) {
 
     if (!ownedItems.remove(item)) {
 
@@ -335,8 +447,8 @@ public class Member {
 
     return String.format("Member[id=%s, name=%s, email=%s, credit=%.2f, created=%d, items=%d]",
 
-        memberId, name, email, credit, createdDate, ownedItems.size());
+        memberId, name, email, getCredit(), createdDate, getOwnedItemCount());
 
   }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
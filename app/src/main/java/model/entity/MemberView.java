@@ -0,0 +1,17 @@
+package model.entity;
+
+/**
+ * An immutable, flat snapshot of a member for display. Built from the
+ * member's own fields, so no object graph is copied.
+ *
+ * @param memberId the member ID
+ * @param name the member's name
+ * @param email the member's email
+ * @param phone the member's phone
+ * @param credit the member's credit
+ * @param createdDate the day the member was created
+ * @param ownedItemCount the number of items the member owns
+ */
+public record MemberView(String memberId, String name, String email, String phone,
+                         double credit, int createdDate, int ownedItemCount) {
+}
@@ -0,0 +1,29 @@
+package model.ledger;
+
+/**
+ * Conversions between credits and the whole cents the ledger stores.
+ */
+public final class Cents {
+  private Cents() {
+  }
+
+  /**
+   * Converts a credit amount to cents, rounding to the nearest cent.
+   *
+   * @param credits the amount in credits
+   * @return the amount in cents
+   */
+  public static long of(double credits) {
+    return Math.round(credits * 100);
+  }
+
+  /**
+   * Converts cents back to credits.
+   *
+   * @param cents the amount in cents
+   * @return the amount in credits
+   */
+  public static double toCredits(long cents) {
+    return cents / 100.0;
+  }
+}
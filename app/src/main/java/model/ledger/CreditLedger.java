@@ -0,0 +1,78 @@
+package model.ledger;
+
+import model.entity.Member;
+
+/**
+ * Moves credit between members. Balances are whole cents held in an atomic
+ * counter per member, so a transfer is exact and needs no locks: the
+ * withdrawal is a compare-and-set that fails instead of going negative, and
+ * the deposit is an atomic add. The sum of all balances is the same before
+ * and after every transfer, however many run at once, and no balance ever
+ * drops below zero.
+ */
+public class CreditLedger {
+
+  /**
+   * Transfers credit from one member to another.
+   *
+   * @param from the member paying
+   * @param to the member being paid
+   * @param cents the amount in cents
+   * @return the completed transfer, which can be reversed
+   * @throws IllegalArgumentException if the amount is negative or the payer lacks credit
+   */
+  public Transfer transfer(Member from, Member to, long cents) {
+    if (cents < 0) {
+      throw new IllegalArgumentException("Amount cannot be less than 0");
+    }
+    if (cents > 0 && from != to) {
+      if (!from.withdrawCents(cents)) {
+        throw new IllegalArgumentException("Insufficient credit");
+      }
+      to.depositCents(cents);
+    }
+    return new Transfer(from, to, cents);
+  }
+
+  /**
+   * Undoes a transfer by moving the same amount back. Callers must keep the
+   * payee from spending between the transfer and its reversal, for example by
+   * holding the payee's lock throughout; a payee that can no longer cover the
+   * amount is never overdrawn.
+   *
+   * @param transfer the transfer to undo
+   * @throws IllegalStateException if the payee has already spent the credit
+   */
+  public void reverse(Transfer transfer) {
+    if (transfer.cents > 0 && transfer.from != transfer.to) {
+      if (!transfer.to.withdrawCents(transfer.cents)) {
+        throw new IllegalStateException("Cannot reverse a transfer the payee has spent");
+      }
+      transfer.from.depositCents(transfer.cents);
+    }
+  }
+
+  /**
+   * A completed transfer, kept so it can be reversed.
+   */
+  public static final class Transfer {
+    private final Member from;
+    private final Member to;
+    private final long cents;
+
+    private Transfer(Member from, Member to, long cents) {
+      this.from = from;
+      this.to = to;
+      this.cents = cents;
+    }
+
+    /**
+     * Gets the amount moved.
+     *
+     * @return the amount in cents
+     */
+    public long getCents() {
+      return cents;
+    }
+  }
+}
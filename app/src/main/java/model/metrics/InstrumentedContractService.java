@@ -0,0 +1,114 @@
+package model.metrics;
+
+import java.util.List;
+import model.LendingCostStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.service.ContractOutcome;
+import model.service.ContractRequest;
+import model.service.ContractService;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.Page;
+import model.service.Quote;
+import model.service.TimeService;
+
+/**
+ * A ContractService that records the count, errors and latency of every call.
+ */
+public class InstrumentedContractService extends ContractService {
+  private final OperationMetrics create;
+  private final OperationMetrics createBatch;
+  private final OperationMetrics list;
+  private final OperationMetrics page;
+  private final OperationMetrics quote;
+
+  /**
+   * Creates an instrumented contract service.
+   *
+   * @param clock the time service for getting current time
+   * @param dataStore the data store for persistence
+   * @param memberService the member service used to look up borrowers for quotes
+   * @param itemService the item service used to look up items for quotes
+   * @param metrics the registry to record into
+   */
+  public InstrumentedContractService(TimeService clock, DataStore dataStore,
+                                     MemberService memberService, ItemService itemService,
+                                     MetricsRegistry metrics) {
+    super(clock, dataStore, memberService, itemService);
+    create = metrics.operation("contract.create");
+    createBatch = metrics.operation("contract.createBatch");
+    list = metrics.operation("contract.list");
+    page = metrics.operation("contract.page");
+    quote = metrics.operation("contract.quote");
+  }
+
+  @Override
+  public Quote quote(String borrowerId, String itemId, int startDay, int endDay,
+                     LendingCostStrategy strategy) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Quote result = super.quote(borrowerId, itemId, startDay, endDay, strategy);
+      failed = false;
+      return result;
+    } finally {
+      quote.record(start, failed);
+    }
+  }
+
+  @Override
+  public Contract createContract(Member borrower, Member owner, Item item, int startDay, int endDay,
+                                 LendingCostStrategy costStrategy) throws Exception {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Contract result = super.createContract(borrower, owner, item, startDay, endDay, costStrategy);
+      failed = false;
+      return result;
+    } finally {
+      create.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<ContractOutcome> createContracts(List<ContractRequest> requests) throws Exception {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<ContractOutcome> result = super.createContracts(requests);
+      failed = false;
+      return result;
+    } finally {
+      createBatch.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Contract> getAllContracts() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Contract> result = super.getAllContracts();
+      failed = false;
+      return result;
+    } finally {
+      list.record(start, failed);
+    }
+  }
+
+  @Override
+  public Page<Contract> pageContracts(String cursor, int limit) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Page<Contract> result = super.pageContracts(cursor, limit);
+      failed = false;
+      return result;
+    } finally {
+      page.record(start, failed);
+    }
+  }
+}
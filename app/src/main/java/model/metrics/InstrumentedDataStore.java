@@ -0,0 +1,299 @@
+package model.metrics;
+
+import java.util.Collection;
+import java.util.List;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.persistence.UnitOfWork;
+
+/**
+ * A DataStore wrapper that records the count, errors and latency of every
+ * call before handing it to the wrapped store.
+ */
+public class InstrumentedDataStore implements DataStore {
+  private final DataStore delegate;
+  private final OperationMetrics loadMembers;
+  private final OperationMetrics saveMembers;
+  private final OperationMetrics upsertMember;
+  private final OperationMetrics upsertMembers;
+  private final OperationMetrics deleteMember;
+  private final OperationMetrics deleteMembers;
+  private final OperationMetrics loadItems;
+  private final OperationMetrics saveItems;
+  private final OperationMetrics upsertItem;
+  private final OperationMetrics upsertItems;
+  private final OperationMetrics deleteItem;
+  private final OperationMetrics deleteItems;
+  private final OperationMetrics loadContracts;
+  private final OperationMetrics saveContracts;
+  private final OperationMetrics upsertContract;
+  private final OperationMetrics upsertContracts;
+  private final OperationMetrics deleteContract;
+  private final OperationMetrics deleteContracts;
+  private final OperationMetrics commit;
+
+  /**
+   * Wraps a data store.
+   *
+   * @param delegate the store that does the work
+   * @param metrics the registry to record into
+   */
+  public InstrumentedDataStore(DataStore delegate, MetricsRegistry metrics) {
+    this.delegate = delegate;
+    loadMembers = metrics.operation("store.loadMembers");
+    saveMembers = metrics.operation("store.saveMembers");
+    upsertMember = metrics.operation("store.upsertMember");
+    upsertMembers = metrics.operation("store.upsertMembers");
+    deleteMember = metrics.operation("store.deleteMember");
+    deleteMembers = metrics.operation("store.deleteMembers");
+    loadItems = metrics.operation("store.loadItems");
+    saveItems = metrics.operation("store.saveItems");
+    upsertItem = metrics.operation("store.upsertItem");
+    upsertItems = metrics.operation("store.upsertItems");
+    deleteItem = metrics.operation("store.deleteItem");
+    deleteItems = metrics.operation("store.deleteItems");
+    loadContracts = metrics.operation("store.loadContracts");
+    saveContracts = metrics.operation("store.saveContracts");
+    upsertContract = metrics.operation("store.upsertContract");
+    upsertContracts = metrics.operation("store.upsertContracts");
+    deleteContract = metrics.operation("store.deleteContract");
+    deleteContracts = metrics.operation("store.deleteContracts");
+    commit = metrics.operation("store.commit");
+  }
+
+  @Override
+  public List<Member> loadMembers() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Member> result = delegate.loadMembers();
+      failed = false;
+      return result;
+    } finally {
+      this.loadMembers.record(start, failed);
+    }
+  }
+
+  @Override
+  public void saveMembers(List<Member> members) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.saveMembers(members);
+      failed = false;
+    } finally {
+      this.saveMembers.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertMember(Member member) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertMember(member);
+      failed = false;
+    } finally {
+      this.upsertMember.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertMembers(Collection<Member> members) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertMembers(members);
+      failed = false;
+    } finally {
+      this.upsertMembers.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean deleteMember(String memberId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = delegate.deleteMember(memberId);
+      failed = false;
+      return result;
+    } finally {
+      this.deleteMember.record(start, failed);
+    }
+  }
+
+  @Override
+  public void deleteMembers(Collection<String> memberIds) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.deleteMembers(memberIds);
+      failed = false;
+    } finally {
+      this.deleteMembers.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Item> loadItems() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Item> result = delegate.loadItems();
+      failed = false;
+      return result;
+    } finally {
+      this.loadItems.record(start, failed);
+    }
+  }
+
+  @Override
+  public void saveItems(List<Item> items) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.saveItems(items);
+      failed = false;
+    } finally {
+      this.saveItems.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertItem(Item item) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertItem(item);
+      failed = false;
+    } finally {
+      this.upsertItem.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertItems(Collection<Item> items) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertItems(items);
+      failed = false;
+    } finally {
+      this.upsertItems.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean deleteItem(String itemId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = delegate.deleteItem(itemId);
+      failed = false;
+      return result;
+    } finally {
+      this.deleteItem.record(start, failed);
+    }
+  }
+
+  @Override
+  public void deleteItems(Collection<String> itemIds) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.deleteItems(itemIds);
+      failed = false;
+    } finally {
+      this.deleteItems.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Contract> loadContracts() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Contract> result = delegate.loadContracts();
+      failed = false;
+      return result;
+    } finally {
+      this.loadContracts.record(start, failed);
+    }
+  }
+
+  @Override
+  public void saveContracts(List<Contract> contracts) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.saveContracts(contracts);
+      failed = false;
+    } finally {
+      this.saveContracts.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertContract(Contract contract) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertContract(contract);
+      failed = false;
+    } finally {
+      this.upsertContract.record(start, failed);
+    }
+  }
+
+  @Override
+  public void upsertContracts(Collection<Contract> contracts) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.upsertContracts(contracts);
+      failed = false;
+    } finally {
+      this.upsertContracts.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean deleteContract(String contractId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = delegate.deleteContract(contractId);
+      failed = false;
+      return result;
+    } finally {
+      this.deleteContract.record(start, failed);
+    }
+  }
+
+  @Override
+  public void deleteContracts(Collection<String> contractIds) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.deleteContracts(contractIds);
+      failed = false;
+    } finally {
+      this.deleteContracts.record(start, failed);
+    }
+  }
+
+  @Override
+  public void commit(UnitOfWork work) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      delegate.commit(work);
+      failed = false;
+    } finally {
+      this.commit.record(start, failed);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package model.metrics;
+
+import java.util.List;
+import model.entity.Item;
+import model.persistence.DataStore;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.Page;
+import model.service.TimeService;
+
+/**
+ * An ItemService that records the count, errors and latency of every call.
+ */
+public class InstrumentedItemService extends ItemService {
+  private final OperationMetrics create;
+  private final OperationMetrics find;
+  private final OperationMetrics delete;
+  private final OperationMetrics update;
+  private final OperationMetrics list;
+  private final OperationMetrics page;
+  private final OperationMetrics search;
+  private final OperationMetrics findAvailable;
+
+  /**
+   * Creates an instrumented item service.
+   *
+   * @param dataStore the data store for persistence
+   * @param time the time service
+   * @param memberService the member service for owner lookups
+   * @param metrics the registry to record into
+   */
+  public InstrumentedItemService(DataStore dataStore, TimeService time,
+                                 MemberService memberService, MetricsRegistry metrics) {
+    super(dataStore, time, memberService);
+    create = metrics.operation("item.create");
+    find = metrics.operation("item.find");
+    delete = metrics.operation("item.delete");
+    update = metrics.operation("item.update");
+    list = metrics.operation("item.list");
+    page = metrics.operation("item.page");
+    search = metrics.operation("item.search");
+    findAvailable = metrics.operation("item.findAvailable");
+  }
+
+  @Override
+  public Item createItem(String name, Item.Category category, String description,
+                         double costPerDay, String ownerId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Item result = super.createItem(name, category, description, costPerDay, ownerId);
+      failed = false;
+      return result;
+    } finally {
+      create.record(start, failed);
+    }
+  }
+
+  @Override
+  public Item findItemById(String itemId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Item result = super.findItemById(itemId);
+      failed = false;
+      return result;
+    } finally {
+      find.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean deleteItem(String itemId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = super.deleteItem(itemId);
+      failed = false;
+      return result;
+    } finally {
+      delete.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean updateItem(String itemId, String name, Item.Category category,
+                            String description, double costPerDay) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = super.updateItem(itemId, name, category, description, costPerDay);
+      failed = false;
+      return result;
+    } finally {
+      update.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Item> listAllItems() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Item> result = super.listAllItems();
+      failed = false;
+      return result;
+    } finally {
+      list.record(start, failed);
+    }
+  }
+
+  @Override
+  public Page<Item> pageItems(String cursor, int limit) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Page<Item> result = super.pageItems(cursor, limit);
+      failed = false;
+      return result;
+    } finally {
+      page.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Item> search(String query, Item.Category category, int limit) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Item> result = super.search(query, category, limit);
+      failed = false;
+      return result;
+    } finally {
+      search.record(start, failed);
+    }
+  }
+
+  @Override
+  public List<Item> findAvailable(Item.Category category, int startDay, int endDay, int limit) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      List<Item> result = super.findAvailable(category, startDay, endDay, limit);
+      failed = false;
+      return result;
+    } finally {
+      findAvailable.record(start, failed);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package model.metrics;
+
+import java.util.Collection;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.service.MemberService;
+import model.service.Page;
+import model.service.TimeService;
+
+/**
+ * A MemberService that records the count, errors and latency of every call.
+ */
+public class InstrumentedMemberService extends MemberService {
+  private final OperationMetrics create;
+  private final OperationMetrics find;
+  private final OperationMetrics delete;
+  private final OperationMetrics list;
+  private final OperationMetrics page;
+  private final OperationMetrics update;
+
+  /**
+   * Creates an instrumented member service.
+   *
+   * @param timeService the time service
+   * @param dataStore the data store for persistence
+   * @param metrics the registry to record into
+   */
+  public InstrumentedMemberService(TimeService timeService, DataStore dataStore,
+                                   MetricsRegistry metrics) {
+    super(timeService, dataStore);
+    create = metrics.operation("member.create");
+    find = metrics.operation("member.find");
+    delete = metrics.operation("member.delete");
+    list = metrics.operation("member.list");
+    page = metrics.operation("member.page");
+    update = metrics.operation("member.update");
+  }
+
+  @Override
+  public Member createMember(String name, String phone, String email) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Member result = super.createMember(name, phone, email);
+      failed = false;
+      return result;
+    } finally {
+      create.record(start, failed);
+    }
+  }
+
+  @Override
+  public Member findMemberById(String memberId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Member result = super.findMemberById(memberId);
+      failed = false;
+      return result;
+    } finally {
+      find.record(start, failed);
+    }
+  }
+
+  @Override
+  public boolean deleteMemberById(String memberId) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      boolean result = super.deleteMemberById(memberId);
+      failed = false;
+      return result;
+    } finally {
+      delete.record(start, failed);
+    }
+  }
+
+  @Override
+  public Collection<Member> getAllMembers() {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Collection<Member> result = super.getAllMembers();
+      failed = false;
+      return result;
+    } finally {
+      list.record(start, failed);
+    }
+  }
+
+  @Override
+  public Member updateMember(String memberId, String newName, String newPhoneNo, String newEmail) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Member result = super.updateMember(memberId, newName, newPhoneNo, newEmail);
+      failed = false;
+      return result;
+    } finally {
+      update.record(start, failed);
+    }
+  }
+
+  @Override
+  public Page<Member> pageMembers(String cursor, int limit) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      Page<Member> result = super.pageMembers(cursor, limit);
+      failed = false;
+      return result;
+    } finally {
+      page.record(start, failed);
+    }
+  }
+}
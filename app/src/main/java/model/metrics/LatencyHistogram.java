@@ -0,0 +1,98 @@
+package model.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with log-linear buckets. Values below 16 get
+ * a bucket each; above that every power of two is split into 8 buckets, so a
+ * reported percentile is at most 12.5% above the true value. Recording is a
+ * single atomic increment into a preallocated array and never allocates.
+ */
+public final class LatencyHistogram {
+  private static final int LINEAR = 16;
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int BUCKETS = LINEAR + (63 - 4) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  /**
+   * Records one value.
+   *
+   * @param nanos the latency in nanoseconds, negative values count as zero
+   */
+  public void record(long nanos) {
+    counts.incrementAndGet(bucket(Math.max(0, nanos)));
+  }
+
+  /**
+   * Gets the number of recorded values.
+   *
+   * @return the count
+   */
+  public long count() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  /**
+   * Gets a percentile, read without stopping concurrent recorders.
+   *
+   * @param quantile the quantile between 0 and 1, for example 0.99
+   * @return the upper bound of the bucket holding that quantile, or 0 if empty
+   */
+  public long percentile(double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1");
+    }
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(BUCKETS - 1);
+  }
+
+  /**
+   * Clears all recorded values.
+   */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+  }
+
+  static int bucket(long value) {
+    if (value < LINEAR) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+    return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < LINEAR) {
+      return bucket;
+    }
+    int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+    int sub = (bucket - LINEAR) % SUB_BUCKETS;
+    long next = (long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BITS);
+    return next < 0 ? Long.MAX_VALUE : next - 1;
+  }
+}
@@ -0,0 +1,115 @@
+package model.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ReflectionException;
+
+/**
+ * Exposes a MetricsRegistry over JMX. Every operation shows up as a group
+ * of read-only attributes named after it, for example "member.create.p99Nanos".
+ * Operations added after registration appear the next time a client reads
+ * the MBean info.
+ */
+final class MetricsBean implements DynamicMBean {
+  private static final String[] FIELDS = {
+      "calls", "errors", "meanNanos", "p50Nanos", "p99Nanos", "p999Nanos"};
+
+  private final MetricsRegistry registry;
+
+  MetricsBean(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object getAttribute(String attribute) throws AttributeNotFoundException {
+    int dot = attribute.lastIndexOf('.');
+    if (dot > 0) {
+      String operation = attribute.substring(0, dot);
+      for (OperationMetrics metrics : registry.operations()) {
+        if (metrics.getName().equals(operation)) {
+          Long value = read(metrics, attribute.substring(dot + 1));
+          if (value != null) {
+            return value;
+          }
+        }
+      }
+    }
+    throw new AttributeNotFoundException(attribute);
+  }
+
+  private static Long read(OperationMetrics metrics, String field) {
+    switch (field) {
+      case "calls":
+        return metrics.getCalls();
+      case "errors":
+        return metrics.getErrors();
+      case "meanNanos":
+        return metrics.getMeanNanos();
+      case "p50Nanos":
+        return metrics.getPercentileNanos(0.5);
+      case "p99Nanos":
+        return metrics.getPercentileNanos(0.99);
+      case "p999Nanos":
+        return metrics.getPercentileNanos(0.999);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+    throw new AttributeNotFoundException(attribute.getName() + " is read-only");
+  }
+
+  @Override
+  public AttributeList getAttributes(String[] attributes) {
+    AttributeList list = new AttributeList();
+    for (String attribute : attributes) {
+      try {
+        list.add(new Attribute(attribute, getAttribute(attribute)));
+      } catch (AttributeNotFoundException e) {
+        // unknown attributes are left out, as the DynamicMBean contract allows
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public AttributeList setAttributes(AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(String actionName, Object[] params, String[] signature)
+      throws ReflectionException {
+    if ("reset".equals(actionName)) {
+      registry.reset();
+      return null;
+    }
+    throw new ReflectionException(new NoSuchMethodException(actionName));
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (OperationMetrics metrics : registry.operations()) {
+      for (String field : FIELDS) {
+        attributes.add(new MBeanAttributeInfo(metrics.getName() + "." + field, "long",
+            field + " of " + metrics.getName(), true, false, false));
+      }
+    }
+    MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Clears all counters",
+        new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+    return new MBeanInfo(getClass().getName(), "Latency and error counts per operation",
+        attributes.toArray(new MBeanAttributeInfo[0]), null,
+        new MBeanOperationInfo[] {reset}, null);
+  }
+}
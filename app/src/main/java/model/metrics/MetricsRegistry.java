@@ -0,0 +1,65 @@
+package model.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Holds the metrics of every instrumented operation. Instrumented classes
+ * look their operations up once when they are built, so recording never
+ * touches the registry.
+ */
+public class MetricsRegistry {
+  /** The JMX name the registry is published under. */
+  public static final String OBJECT_NAME = "stufflending:type=OperationMetrics";
+
+  private final Map<String, OperationMetrics> operations = new ConcurrentSkipListMap<>();
+
+  /**
+   * Gets the metrics of an operation, creating them on first use.
+   *
+   * @param name the operation name, for example "member.create"
+   * @return the metrics for that name
+   */
+  public OperationMetrics operation(String name) {
+    return operations.computeIfAbsent(name, OperationMetrics::new);
+  }
+
+  /**
+   * Gets all operations sorted by name.
+   *
+   * @return an unmodifiable list of the operations
+   */
+  public List<OperationMetrics> operations() {
+    return Collections.unmodifiableList(new ArrayList<>(operations.values()));
+  }
+
+  /**
+   * Clears the counters of every operation.
+   */
+  public void reset() {
+    for (OperationMetrics metrics : operations.values()) {
+      metrics.reset();
+    }
+  }
+
+  /**
+   * Publishes the registry on the platform MBean server.
+   *
+   * @throws JMException if the MBean cannot be registered
+   */
+  public void registerJmx() throws JMException {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(OBJECT_NAME);
+    if (server.isRegistered(name)) {
+      server.unregisterMBean(name);
+    }
+    server.registerMBean(new MetricsBean(this), name);
+  }
+}
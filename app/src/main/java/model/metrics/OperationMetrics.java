@@ -0,0 +1,91 @@
+package model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Call count, error count and latency of one named operation.
+ */
+public final class OperationMetrics {
+  private final String name;
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  OperationMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records one finished call. Does not allocate.
+   *
+   * @param startNanos the System.nanoTime() value taken before the call
+   * @param failed true if the call threw
+   */
+  public void record(long startNanos, boolean failed) {
+    long nanos = System.nanoTime() - startNanos;
+    calls.incrementAndGet();
+    if (failed) {
+      errors.incrementAndGet();
+    }
+    totalNanos.addAndGet(nanos);
+    latency.record(nanos);
+  }
+
+  /**
+   * Gets the operation name.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the number of calls.
+   *
+   * @return the call count
+   */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /**
+   * Gets the number of calls that threw.
+   *
+   * @return the error count
+   */
+  public long getErrors() {
+    return errors.get();
+  }
+
+  /**
+   * Gets the mean latency.
+   *
+   * @return the mean in nanoseconds, or 0 if there were no calls
+   */
+  public long getMeanNanos() {
+    long count = calls.get();
+    return count == 0 ? 0 : totalNanos.get() / count;
+  }
+
+  /**
+   * Gets a latency percentile.
+   *
+   * @param quantile the quantile between 0 and 1
+   * @return the latency in nanoseconds
+   */
+  public long getPercentileNanos(double quantile) {
+    return latency.percentile(quantile);
+  }
+
+  /**
+   * Clears all counters.
+   */
+  public void reset() {
+    calls.set(0);
+    errors.set(0);
+    totalNanos.set(0);
+    latency.reset();
+  }
+}
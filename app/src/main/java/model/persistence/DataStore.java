@@ -1,5 +1,6 @@
 package model.persistence;
 
+import java.util.Collection;
 import java.util.List;
 import model.entity.Contract;
 import model.entity.Item;
@@ -7,6 +8,11 @@ import model.entity.Member;
 
 /**
  * Data store interface for persistence operations.
+ * The save methods replace a whole collection, while the upsert and delete
+ * methods only touch the given entities so a single mutation stays O(1).
+ * Loaded lists may be shared, immutable versions; callers must not modify them.
+ * Changes that span collections go through a {@link UnitOfWork} so they are
+ * stored all together or not at all.
  */
 public interface DataStore {
   /**
@@ -23,6 +29,35 @@ public interface DataStore {
    */
   void saveMembers(List<Member> members);
 
+  /**
+   * Inserts or replaces a single member, keyed by its ID.
+   *
+   * @param member the member to store
+   */
+  void upsertMember(Member member);
+
+  /**
+   * Inserts or replaces a batch of members.
+   *
+   * @param members the members to store
+   */
+  void upsertMembers(Collection<Member> members);
+
+  /**
+   * Deletes a single member.
+   *
+   * @param memberId the ID of the member to delete
+   * @return true if the member was stored
+   */
+  boolean deleteMember(String memberId);
+
+  /**
+   * Deletes a batch of members.
+   *
+   * @param memberIds the IDs of the members to delete
+   */
+  void deleteMembers(Collection<String> memberIds);
+
   /**
    * Loads items from storage.
    *
@@ -37,6 +72,35 @@ public interface DataStore {
    */
   void saveItems(List<Item> items);
 
+  /**
+   * Inserts or replaces a single item, keyed by its ID.
+   *
+   * @param item the item to store
+   */
+  void upsertItem(Item item);
+
+  /**
+   * Inserts or replaces a batch of items.
+   *
+   * @param items the items to store
+   */
+  void upsertItems(Collection<Item> items);
+
+  /**
+   * Deletes a single item.
+   *
+   * @param itemId the ID of the item to delete
+   * @return true if the item was stored
+   */
+  boolean deleteItem(String itemId);
+
+  /**
+   * Deletes a batch of items.
+   *
+   * @param itemIds the IDs of the items to delete
+   */
+  void deleteItems(Collection<String> itemIds);
+
   /**
    * Loads contracts from storage.
    *
@@ -50,4 +114,70 @@ public interface DataStore {
    * @param contracts the contracts to save
    */
   void saveContracts(List<Contract> contracts);
+
+  /**
+   * Inserts or replaces a single contract, keyed by its ID.
+   *
+   * @param contract the contract to store
+   */
+  void upsertContract(Contract contract);
+
+  /**
+   * Inserts or replaces a batch of contracts.
+   *
+   * @param contracts the contracts to store
+   */
+  void upsertContracts(Collection<Contract> contracts);
+
+  /**
+   * Deletes a single contract.
+   *
+   * @param contractId the ID of the contract to delete
+   * @return true if the contract was stored
+   */
+  boolean deleteContract(String contractId);
+
+  /**
+   * Deletes a batch of contracts.
+   *
+   * @param contractIds the IDs of the contracts to delete
+   */
+  void deleteContracts(Collection<String> contractIds);
+
+  /**
+   * Starts a unit of work that buffers changes until it is committed.
+   *
+   * @return a new, empty unit of work on this store
+   */
+  default UnitOfWork beginWork() {
+    return new UnitOfWork(this);
+  }
+
+  /**
+   * Applies the changes of a unit of work; called by {@link UnitOfWork#commit()}.
+   * If this throws, none of the changes may be left in the store. The default
+   * applies the changes through the batch methods, one collection after the
+   * other, and puts back the previous versions of those collections if a step
+   * fails. Stores that can apply the changes in one step should override it.
+   *
+   * @param work the changes to apply
+   */
+  default void commit(UnitOfWork work) {
+    List<Member> members = loadMembers();
+    List<Item> items = loadItems();
+    List<Contract> contracts = loadContracts();
+    try {
+      deleteMembers(work.memberDeletes());
+      upsertMembers(work.memberUpserts());
+      deleteItems(work.itemDeletes());
+      upsertItems(work.itemUpserts());
+      deleteContracts(work.contractDeletes());
+      upsertContracts(work.contractUpserts());
+    } catch (RuntimeException e) {
+      saveMembers(members);
+      saveItems(items);
+      saveContracts(contracts);
+      throw e;
+    }
+  }
 }
@@ -1,6 +1,6 @@
 package model.persistence;
 
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import model.entity.Contract;
 import model.entity.Item;
@@ -9,56 +9,155 @@ import model.entity.Member;
 /**
  * In-memory implementation of the data store interface.
  * Stores data in memory during application runtime.
+ * Loads return an immutable version of the collection that later writes
+ * never change, and repeated loads between writes share the same version
+ * instead of copying. Each collection has its own table, so writers to
+ * members, items and contracts do not block each other. A unit of work takes
+ * the locks of all three tables, builds every next version and only then
+ * publishes them, so a failed commit leaves nothing behind.
+ *
+ * <p>A commit is atomic per collection, not across them: each table publishes
+ * its version with its own volatile write, members first and contracts last.
+ * A load always returns a whole committed version of its collection, and once
+ * commit returns every load sees all of it. A reader loading members and then
+ * items while a commit publishes may get the new members with the old items.
+ * Loads are separate calls, so another commit can land between them anyway;
+ * callers that need a consistent view across collections must not rely on
+ * two loads matching.
  */
 public class InMemoryDataStore implements DataStore {
-  
-  // In-memory storage collections
-  private final List<Member> members = new ArrayList<>();
-  private final List<Item> items = new ArrayList<>();
-  private final List<Contract> contracts = new ArrayList<>();
-  
+
+  // In-memory storage collections, keyed by ID and kept in insertion order
+  private final VersionedTable<Member> members = new VersionedTable<>(Member::getMemberId);
+  private final VersionedTable<Item> items = new VersionedTable<>(Item::getItemId);
+  private final VersionedTable<Contract> contracts =
+      new VersionedTable<>(Contract::getContractId);
+
   @Override
   public List<Member> loadMembers() {
-    // Return a copy to prevent external modification
-    return new ArrayList<>(members);
+    return members.snapshot();
   }
 
   @Override
   public void saveMembers(List<Member> members) {
     // Clear existing data and store new data
-    this.members.clear();
-    if (members != null) {
-      this.members.addAll(members);
-    }
+    this.members.replaceAll(members == null ? List.of() : members);
+  }
+
+  @Override
+  public void upsertMember(Member member) {
+    members.put(member);
+  }
+
+  @Override
+  public void upsertMembers(Collection<Member> members) {
+    this.members.putAll(members);
+  }
+
+  @Override
+  public boolean deleteMember(String memberId) {
+    return members.remove(memberId);
+  }
+
+  @Override
+  public void deleteMembers(Collection<String> memberIds) {
+    members.removeAll(memberIds);
   }
 
   @Override
   public List<Item> loadItems() {
-    // Return a copy to prevent external modification
-    return new ArrayList<>(items);
+    return items.snapshot();
   }
 
   @Override
   public void saveItems(List<Item> items) {
     // Clear existing data and store new data
-    this.items.clear();
-    if (items != null) {
-      this.items.addAll(items);
-    }
+    this.items.replaceAll(items == null ? List.of() : items);
+  }
+
+  @Override
+  public void upsertItem(Item item) {
+    items.put(item);
+  }
+
+  @Override
+  public void upsertItems(Collection<Item> items) {
+    this.items.putAll(items);
+  }
+
+  @Override
+  public boolean deleteItem(String itemId) {
+    return items.remove(itemId);
+  }
+
+  @Override
+  public void deleteItems(Collection<String> itemIds) {
+    items.removeAll(itemIds);
   }
 
   @Override
   public List<Contract> loadContracts() {
-    // Return a copy to prevent external modification
-    return new ArrayList<>(contracts);
+    return contracts.snapshot();
   }
 
   @Override
   public void saveContracts(List<Contract> contracts) {
     // Clear existing data and store new data
-    this.contracts.clear();
-    if (contracts != null) {
-      this.contracts.addAll(contracts);
+    this.contracts.replaceAll(contracts == null ? List.of() : contracts);
+  }
+
+  @Override
+  public void upsertContract(Contract contract) {
+    contracts.put(contract);
+  }
+
+  @Override
+  public void upsertContracts(Collection<Contract> contracts) {
+    this.contracts.putAll(contracts);
+  }
+
+  @Override
+  public boolean deleteContract(String contractId) {
+    return contracts.remove(contractId);
+  }
+
+  @Override
+  public void deleteContracts(Collection<String> contractIds) {
+    contracts.removeAll(contractIds);
+  }
+
+  @Override
+  public void commit(UnitOfWork work) {
+    // always members, items, contracts, so two commits never wait on each other in a cycle
+    synchronized (members) {
+      synchronized (items) {
+        synchronized (contracts) {
+          prepare(work).run();
+        }
+      }
     }
   }
+
+  /**
+   * Builds the next version of every table for a unit of work without
+   * publishing anything. The caller keeps every other writer out of this
+   * store until it runs the returned step, which publishes the versions one
+   * table at a time.
+   *
+   * @param work the changes to apply
+   * @return the step that makes the changes visible; it cannot fail
+   */
+  Runnable prepare(UnitOfWork work) {
+    VersionedTable.Version<Member> nextMembers =
+        members.prepare(work.memberDeletes(), work.memberUpserts());
+    VersionedTable.Version<Item> nextItems =
+        items.prepare(work.itemDeletes(), work.itemUpserts());
+    VersionedTable.Version<Contract> nextContracts =
+        contracts.prepare(work.contractDeletes(), work.contractUpserts());
+    return () -> {
+      members.publish(nextMembers);
+      items.publish(nextItems);
+      contracts.publish(nextContracts);
+    };
+  }
 }
@@ -0,0 +1,454 @@
+package model.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+
+/**
+ * Data store backed by a compact binary snapshot read through a memory mapping.
+ *
+ * <p>Opening the store only maps the file. Each collection is decoded as a whole
+ * the first time it is needed, and strings are decoded from the shared string
+ * table on first use. The services load every collection in their constructors,
+ * so startup still builds every object; what the snapshot saves is the parsing,
+ * since rows are read at fixed offsets instead of replayed record by record.
+ * Changes are kept in memory until {@link #save()} writes a new snapshot.
+ *
+ * <p>Layout (big-endian): a header with magic, version and counts; the string
+ * table as offsets followed by UTF-8 bytes; then fixed-width member, item and
+ * contract records. Records refer to strings by table index and to other
+ * records by row index.
+ */
+public class MappedSnapshotDataStore implements DataStore {
+  private static final int MAGIC = 0x534C5331; // "SLS1"
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 24;
+  private static final int MEMBER_BYTES = 32;
+  private static final int ITEM_BYTES = 36;
+  private static final int CONTRACT_BYTES = 28;
+  private static final int LIVE = 1; // row is stored, not only referenced
+
+  private final Path file;
+  private final TimeService time;
+  private final InMemoryDataStore state = new InMemoryDataStore();
+
+  // Mapped snapshot, released once every collection has been decoded
+  private ByteBuffer snapshot;
+  private int memberBase;
+  private int itemBase;
+  private int contractBase;
+  private int stringBase;
+  private int memberCount;
+  private int itemCount;
+  private int contractCount;
+  private String[] strings;
+  private Member[] memberRows;
+  private Item[] itemRows;
+  private boolean contractsDecoded;
+
+  /**
+   * Opens a snapshot file, or starts empty if it does not exist yet.
+   *
+   * @param file the snapshot file
+   * @param time the time service handed to restored entities
+   * @throws IOException if the file cannot be mapped or has a bad header
+   */
+  public MappedSnapshotDataStore(Path file, TimeService time) throws IOException {
+    this.file = file;
+    this.time = time;
+    if (Files.exists(file)) {
+      map();
+    } else {
+      memberRows = new Member[0];
+      itemRows = new Item[0];
+      contractsDecoded = true;
+    }
+  }
+
+  private void map() throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+        throw new IOException("Not a snapshot file: " + file);
+      }
+      if (buffer.getInt(4) != VERSION) {
+        throw new IOException("Unsupported snapshot version " + buffer.getInt(4));
+      }
+      final int stringCount = buffer.getInt(8);
+      memberCount = buffer.getInt(12);
+      itemCount = buffer.getInt(16);
+      contractCount = buffer.getInt(20);
+
+      int offsetsBase = HEADER_BYTES;
+      stringBase = offsetsBase + (stringCount + 1) * 4;
+      memberBase = stringBase + buffer.getInt(offsetsBase + stringCount * 4);
+      itemBase = memberBase + memberCount * MEMBER_BYTES;
+      contractBase = itemBase + itemCount * ITEM_BYTES;
+      if (contractBase + contractCount * CONTRACT_BYTES > buffer.limit()) {
+        throw new IOException("Truncated snapshot file: " + file);
+      }
+      snapshot = buffer;
+      strings = new String[stringCount];
+    }
+  }
+
+  /**
+   * Writes the current state to the snapshot file. The new file is written
+   * next to the old one and moved into place, so readers never see half a file.
+   *
+   * @throws IOException if the snapshot cannot be written
+   */
+  public synchronized void save() throws IOException {
+    write(file, loadMembers(), loadItems(), loadContracts());
+  }
+
+  /**
+   * Writes members, items and contracts as a snapshot file.
+   *
+   * @param file the snapshot file to replace
+   * @param members the members to store
+   * @param items the items to store
+   * @param contracts the contracts to store
+   * @throws IOException if the snapshot cannot be written
+   */
+  public static void write(Path file, List<Member> members, List<Item> items,
+                           List<Contract> contracts) throws IOException {
+    StringTable table = new StringTable();
+    // Rows for stored entities first, then entities that are only referenced
+    List<Member> memberRows = new ArrayList<>(members);
+    Map<String, Integer> memberById = new HashMap<>();
+    for (int i = 0; i < memberRows.size(); i++) {
+      memberById.put(memberRows.get(i).getMemberId(), i);
+    }
+    Map<String, Integer> itemById = new HashMap<>();
+    List<Item> itemRows = new ArrayList<>(items);
+    for (int i = 0; i < itemRows.size(); i++) {
+      itemById.put(itemRows.get(i).getItemId(), i);
+    }
+    int liveMembers = memberRows.size();
+    int liveItems = itemRows.size();
+    // only entities missing from the stored lists are copied out of their contracts and items
+    for (Contract contract : contracts) {
+      if (!itemById.containsKey(contract.getItemId())) {
+        itemById.put(contract.getItemId(), itemRows.size());
+        itemRows.add(contract.getItem());
+      }
+      if (!memberById.containsKey(contract.getBorrowerId())) {
+        rowFor(contract.getBorrower(), memberRows, memberById);
+      }
+    }
+    for (Item item : itemRows) {
+      if (!memberById.containsKey(item.getOwnerId())) {
+        rowFor(item.getOwner(), memberRows, memberById);
+      }
+    }
+
+    int memberBytes = memberRows.size() * MEMBER_BYTES;
+    int itemBytes = itemRows.size() * ITEM_BYTES;
+    ByteBuffer records = ByteBuffer.allocate(memberBytes + itemBytes
+        + contracts.size() * CONTRACT_BYTES);
+    for (int i = 0; i < memberRows.size(); i++) {
+      Member m = memberRows.get(i);
+      records.putInt(table.index(m.getMemberId()));
+      records.putInt(table.index(m.getName()));
+      records.putInt(table.index(m.getEmail()));
+      records.putInt(table.index(m.getPhone()));
+      records.putInt(m.getCreatedDate());
+      records.putDouble(m.getCredit());
+      records.putInt(i < liveMembers ? LIVE : 0);
+    }
+    for (int i = 0; i < itemRows.size(); i++) {
+      Item item = itemRows.get(i);
+      records.putInt(table.index(item.getItemId()));
+      records.putInt(table.index(item.getName()));
+      records.putInt(table.index(item.getDescription()));
+      records.putInt(item.getCategory().ordinal());
+      records.putDouble(item.getCostPerDay());
+      records.putInt(item.getCreationDate());
+      records.putInt(memberById.get(item.getOwnerId()));
+      records.putInt(i < liveItems ? LIVE : 0);
+    }
+    for (Contract contract : contracts) {
+      records.putInt(table.index(contract.getContractId()));
+      records.putInt(memberById.get(contract.getBorrowerId()));
+      records.putInt(itemById.get(contract.getItemId()));
+      records.putInt(contract.getStartDay());
+      records.putInt(contract.getEndDay());
+      records.putDouble(contract.getTotalCost());
+    }
+    records.flip();
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + (table.size() + 1) * 4);
+    header.putInt(MAGIC).putInt(VERSION).putInt(table.size())
+        .putInt(memberRows.size()).putInt(itemRows.size()).putInt(contracts.size());
+    int offset = 0;
+    for (byte[] bytes : table.bytes) {
+      header.putInt(offset);
+      offset += bytes.length;
+    }
+    header.putInt(offset);
+    header.flip();
+
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      writeFully(out, header);
+      for (byte[] bytes : table.bytes) {
+        writeFully(out, ByteBuffer.wrap(bytes));
+      }
+      writeFully(out, records);
+      out.force(true);
+    }
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private static void rowFor(Member member, List<Member> rows, Map<String, Integer> byId) {
+    if (!byId.containsKey(member.getMemberId())) {
+      byId.put(member.getMemberId(), rows.size());
+      rows.add(member);
+    }
+  }
+
+  private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  /**
+   * Interns strings for the snapshot string table.
+   */
+  private static final class StringTable {
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<byte[]> bytes = new ArrayList<>();
+
+    int index(String value) {
+      Integer index = indexes.get(value);
+      if (index == null) {
+        index = bytes.size();
+        indexes.put(value, index);
+        bytes.add(value.getBytes(StandardCharsets.UTF_8));
+      }
+      return index;
+    }
+
+    int size() {
+      return bytes.size();
+    }
+  }
+
+  // --- lazy decoding ---
+
+  private String string(int index) {
+    String value = strings[index];
+    if (value == null) {
+      int start = snapshot.getInt(HEADER_BYTES + index * 4);
+      int end = snapshot.getInt(HEADER_BYTES + (index + 1) * 4);
+      byte[] bytes = new byte[end - start];
+      snapshot.get(stringBase + start, bytes);
+      value = new String(bytes, StandardCharsets.UTF_8);
+      strings[index] = value;
+    }
+    return value;
+  }
+
+  private void ensureMembers() {
+    if (memberRows != null) {
+      return;
+    }
+    memberRows = new Member[memberCount];
+    List<Member> live = new ArrayList<>(memberCount);
+    for (int i = 0; i < memberCount; i++) {
+      int at = memberBase + i * MEMBER_BYTES;
+      Member member = new Member(string(snapshot.getInt(at)), string(snapshot.getInt(at + 4)),
+          string(snapshot.getInt(at + 8)), string(snapshot.getInt(at + 12)),
+          snapshot.getInt(at + 16));
+      member.restoreCredit(snapshot.getDouble(at + 20));
+      memberRows[i] = member;
+      if (snapshot.getInt(at + 28) == LIVE) {
+        live.add(member);
+      }
+    }
+    state.upsertMembers(live);
+  }
+
+  private void ensureItems() {
+    if (itemRows != null) {
+      return;
+    }
+    ensureMembers();
+    Item.Category[] categories = Item.Category.values();
+    itemRows = new Item[itemCount];
+    List<Item> live = new ArrayList<>(itemCount);
+    for (int i = 0; i < itemCount; i++) {
+      int at = itemBase + i * ITEM_BYTES;
+      Member owner = memberRows[snapshot.getInt(at + 28)];
+      Item item = new Item(string(snapshot.getInt(at)), string(snapshot.getInt(at + 4)),
+          categories[snapshot.getInt(at + 12)], string(snapshot.getInt(at + 8)),
+          snapshot.getDouble(at + 16), owner, snapshot.getInt(at + 24), time);
+      itemRows[i] = item;
+      // deleted items are only kept as rows for their contracts, not given back to the owner
+      if (snapshot.getInt(at + 32) == LIVE) {
+        // link without the registration bonus, the stored credit already includes it
+        double credit = owner.getCredit();
+        owner.addItem(item);
+        owner.restoreCredit(credit);
+        live.add(item);
+      }
+    }
+    state.upsertItems(live);
+  }
+
+  private void ensureContracts() {
+    if (contractsDecoded) {
+      return;
+    }
+    ensureItems();
+    List<Contract> contracts = new ArrayList<>(contractCount);
+    for (int i = 0; i < contractCount; i++) {
+      int at = contractBase + i * CONTRACT_BYTES;
+      Item item = itemRows[snapshot.getInt(at + 8)];
+      Contract contract = new Contract(string(snapshot.getInt(at)),
+          memberRows[snapshot.getInt(at + 4)], item, snapshot.getInt(at + 12),
+          snapshot.getInt(at + 16), snapshot.getDouble(at + 20), time);
+      item.addContract(contract);
+      contracts.add(contract);
+    }
+    state.upsertContracts(contracts);
+    contractsDecoded = true;
+    // everything is decoded, let the mapping and string cache go
+    snapshot = null;
+    strings = null;
+  }
+
+  // --- DataStore ---
+
+  @Override
+  public synchronized List<Member> loadMembers() {
+    ensureMembers();
+    return state.loadMembers();
+  }
+
+  @Override
+  public synchronized void saveMembers(List<Member> members) {
+    ensureMembers();
+    state.saveMembers(members);
+  }
+
+  @Override
+  public synchronized void upsertMember(Member member) {
+    ensureMembers();
+    state.upsertMember(member);
+  }
+
+  @Override
+  public synchronized void upsertMembers(Collection<Member> members) {
+    ensureMembers();
+    state.upsertMembers(members);
+  }
+
+  @Override
+  public synchronized boolean deleteMember(String memberId) {
+    ensureMembers();
+    return state.deleteMember(memberId);
+  }
+
+  @Override
+  public synchronized void deleteMembers(Collection<String> memberIds) {
+    ensureMembers();
+    state.deleteMembers(memberIds);
+  }
+
+  @Override
+  public synchronized List<Item> loadItems() {
+    ensureItems();
+    return state.loadItems();
+  }
+
+  @Override
+  public synchronized void saveItems(List<Item> items) {
+    ensureItems();
+    state.saveItems(items);
+  }
+
+  @Override
+  public synchronized void upsertItem(Item item) {
+    ensureItems();
+    state.upsertItem(item);
+  }
+
+  @Override
+  public synchronized void upsertItems(Collection<Item> items) {
+    ensureItems();
+    state.upsertItems(items);
+  }
+
+  @Override
+  public synchronized boolean deleteItem(String itemId) {
+    ensureItems();
+    return state.deleteItem(itemId);
+  }
+
+  @Override
+  public synchronized void deleteItems(Collection<String> itemIds) {
+    ensureItems();
+    state.deleteItems(itemIds);
+  }
+
+  @Override
+  public synchronized List<Contract> loadContracts() {
+    ensureContracts();
+    return state.loadContracts();
+  }
+
+  @Override
+  public synchronized void saveContracts(List<Contract> contracts) {
+    ensureContracts();
+    state.saveContracts(contracts);
+  }
+
+  @Override
+  public synchronized void upsertContract(Contract contract) {
+    ensureContracts();
+    state.upsertContract(contract);
+  }
+
+  @Override
+  public synchronized void upsertContracts(Collection<Contract> contracts) {
+    ensureContracts();
+    state.upsertContracts(contracts);
+  }
+
+  @Override
+  public synchronized boolean deleteContract(String contractId) {
+    ensureContracts();
+    return state.deleteContract(contractId);
+  }
+
+  @Override
+  public synchronized void deleteContracts(Collection<String> contractIds) {
+    ensureContracts();
+    state.deleteContracts(contractIds);
+  }
+
+  @Override
+  public synchronized void commit(UnitOfWork work) {
+    ensureContracts(); // decodes members and items too
+    state.commit(work);
+  }
+}
@@ -0,0 +1,269 @@
+package model.persistence;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable hash map as a hash array mapped trie. Every update returns a new
+ * map that shares all untouched nodes with the old one, so an update copies
+ * one 32-way node per level: O(log32 n) time and space. Old maps stay valid.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class PersistentHashMap<K, V> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final BitmapNode EMPTY_ROOT = new BitmapNode(0, new Object[0]);
+  private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(EMPTY_ROOT, 0);
+
+  private final BitmapNode root;
+  private final int size;
+
+  private PersistentHashMap(BitmapNode root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Gets the empty map.
+   *
+   * @param <K> the key type
+   * @param <V> the value type
+   * @return the empty map
+   */
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked")
+  V get(K key) {
+    int hash = hash(key);
+    Object node = root;
+    for (int shift = 0; ; shift += BITS) {
+      if (node instanceof BitmapNode) {
+        BitmapNode bitmapNode = (BitmapNode) node;
+        int bit = bit(hash, shift);
+        if ((bitmapNode.bitmap & bit) == 0) {
+          return null;
+        }
+        node = bitmapNode.slots[bitmapNode.index(bit)];
+      } else if (node instanceof Entry) {
+        Entry entry = (Entry) node;
+        return entry.hash == hash && entry.key.equals(key) ? (V) entry.value : null;
+      } else {
+        for (Entry entry : ((CollisionNode) node).entries) {
+          if (entry.key.equals(key)) {
+            return (V) entry.value;
+          }
+        }
+        return null;
+      }
+    }
+  }
+
+  PersistentHashMap<K, V> put(K key, V value) {
+    boolean[] added = new boolean[1];
+    BitmapNode newRoot = (BitmapNode) putInto(root, 0, new Entry(hash(key), key, value), added);
+    return newRoot == root ? this : new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+  }
+
+  PersistentHashMap<K, V> remove(K key) {
+    Object newRoot = removeFrom(root, 0, hash(key), key);
+    if (newRoot == root) {
+      return this;
+    }
+    if (newRoot instanceof BitmapNode) {
+      return new PersistentHashMap<>((BitmapNode) newRoot, size - 1);
+    }
+    // the root collapsed to one entry or nothing; the root is always a bitmap node
+    BitmapNode rebuilt = newRoot == null ? EMPTY_ROOT
+        : (BitmapNode) putInto(EMPTY_ROOT, 0, (Entry) newRoot, new boolean[1]);
+    return new PersistentHashMap<>(rebuilt, size - 1);
+  }
+
+  private static Object putInto(Object node, int shift, Entry entry, boolean[] added) {
+    if (node instanceof CollisionNode) {
+      CollisionNode collision = (CollisionNode) node;
+      if (collision.hash == entry.hash) {
+        Entry[] entries = collision.entries;
+        for (int i = 0; i < entries.length; i++) {
+          if (entries[i].key.equals(entry.key)) {
+            Entry[] copy = entries.clone();
+            copy[i] = entry;
+            return new CollisionNode(entry.hash, copy);
+          }
+        }
+        Entry[] copy = Arrays.copyOf(entries, entries.length + 1);
+        copy[entries.length] = entry;
+        added[0] = true;
+        return new CollisionNode(entry.hash, copy);
+      }
+      // a different hash: push the collision one level down under a bitmap node
+      BitmapNode parent = new BitmapNode(bit(collision.hash, shift), new Object[] {collision});
+      return putInto(parent, shift, entry, added);
+    }
+    BitmapNode bitmapNode = (BitmapNode) node;
+    int bit = bit(entry.hash, shift);
+    int index = bitmapNode.index(bit);
+    if ((bitmapNode.bitmap & bit) == 0) {
+      added[0] = true;
+      return bitmapNode.insert(bit, index, entry);
+    }
+    Object slot = bitmapNode.slots[index];
+    Object replacement;
+    if (slot instanceof Entry) {
+      Entry existing = (Entry) slot;
+      if (existing.hash == entry.hash && existing.key.equals(entry.key)) {
+        if (existing.value == entry.value) {
+          return bitmapNode;
+        }
+        replacement = entry;
+      } else {
+        added[0] = true;
+        replacement = pair(shift + BITS, existing, entry);
+      }
+    } else {
+      replacement = putInto(slot, shift + BITS, entry, added);
+      if (replacement == slot) {
+        return bitmapNode;
+      }
+    }
+    return bitmapNode.replace(index, replacement);
+  }
+
+  private static Object pair(int shift, Entry first, Entry second) {
+    if (first.hash == second.hash) {
+      return new CollisionNode(first.hash, new Entry[] {first, second});
+    }
+    boolean[] ignored = new boolean[1];
+    Object node = putInto(EMPTY_ROOT, shift, first, ignored);
+    return putInto(node, shift, second, ignored);
+  }
+
+  /**
+   * Removes a key below a node.
+   *
+   * @return the same node if the key is absent, otherwise the new node, a
+   *     lone entry the parent should inline, or null if nothing is left
+   */
+  private static Object removeFrom(Object node, int shift, int hash, Object key) {
+    if (node instanceof CollisionNode) {
+      Entry[] entries = ((CollisionNode) node).entries;
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].key.equals(key)) {
+          if (entries.length == 2) {
+            return entries[1 - i];
+          }
+          Entry[] copy = new Entry[entries.length - 1];
+          System.arraycopy(entries, 0, copy, 0, i);
+          System.arraycopy(entries, i + 1, copy, i, entries.length - i - 1);
+          return new CollisionNode(hash, copy);
+        }
+      }
+      return node;
+    }
+    BitmapNode bitmapNode = (BitmapNode) node;
+    int bit = bit(hash, shift);
+    if ((bitmapNode.bitmap & bit) == 0) {
+      return node;
+    }
+    int index = bitmapNode.index(bit);
+    Object slot = bitmapNode.slots[index];
+    Object replacement;
+    if (slot instanceof Entry) {
+      Entry entry = (Entry) slot;
+      if (entry.hash != hash || !entry.key.equals(key)) {
+        return node;
+      }
+      replacement = null;
+    } else {
+      replacement = removeFrom(slot, shift + BITS, hash, key);
+      if (replacement == slot) {
+        return node;
+      }
+    }
+    if (replacement != null) {
+      return bitmapNode.replace(index, replacement);
+    }
+    if (bitmapNode.slots.length == 1) {
+      return null;
+    }
+    BitmapNode smaller = bitmapNode.delete(bit, index);
+    if (smaller.slots.length == 1 && smaller.slots[0] instanceof Entry) {
+      return smaller.slots[0];
+    }
+    return smaller;
+  }
+
+  private static int hash(Object key) {
+    int h = Objects.requireNonNull(key, "Key required").hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static final class Entry {
+    final int hash;
+    final Object key;
+    final Object value;
+
+    Entry(int hash, Object key, Object value) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private static final class CollisionNode {
+    final int hash;
+    final Entry[] entries;
+
+    CollisionNode(int hash, Entry[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+  }
+
+  private static final class BitmapNode {
+    final int bitmap;
+    final Object[] slots; // an Entry, a BitmapNode or a CollisionNode per set bit
+
+    BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    BitmapNode insert(int bit, int index, Object slot) {
+      Object[] copy = new Object[slots.length + 1];
+      System.arraycopy(slots, 0, copy, 0, index);
+      copy[index] = slot;
+      System.arraycopy(slots, index, copy, index + 1, slots.length - index);
+      return new BitmapNode(bitmap | bit, copy);
+    }
+
+    BitmapNode replace(int index, Object slot) {
+      Object[] copy = slots.clone();
+      copy[index] = slot;
+      return new BitmapNode(bitmap, copy);
+    }
+
+    BitmapNode delete(int bit, int index) {
+      Object[] copy = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, copy, 0, index);
+      System.arraycopy(slots, index + 1, copy, index, slots.length - index - 1);
+      return new BitmapNode(bitmap & ~bit, copy);
+    }
+  }
+}
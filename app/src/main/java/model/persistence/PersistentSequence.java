@@ -0,0 +1,252 @@
+package model.persistence;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable sorted map from long keys to values as a persistent AVL tree
+ * whose nodes also count their subtree. Updates copy only the path from the
+ * root, O(log n), and share the rest with the old tree; reading the i-th value
+ * is O(log n) as well. The list view is free to create and never changes.
+ *
+ * @param <T> the value type
+ */
+final class PersistentSequence<T> {
+  private static final PersistentSequence<?> EMPTY = new PersistentSequence<>(null);
+
+  private final Node<T> root;
+
+  private PersistentSequence(Node<T> root) {
+    this.root = root;
+  }
+
+  /**
+   * Gets the empty sequence.
+   *
+   * @param <T> the value type
+   * @return the empty sequence
+   */
+  @SuppressWarnings("unchecked")
+  static <T> PersistentSequence<T> empty() {
+    return (PersistentSequence<T>) EMPTY;
+  }
+
+  /**
+   * Builds a balanced sequence keyed 0 to n - 1 in list order, in O(n).
+   *
+   * @param <T> the value type
+   * @param values the values in order
+   * @return the sequence
+   */
+  static <T> PersistentSequence<T> of(List<? extends T> values) {
+    return new PersistentSequence<>(build(values, 0, values.size()));
+  }
+
+  int size() {
+    return sizeOf(root);
+  }
+
+  /**
+   * Adds or replaces the value for a key.
+   */
+  PersistentSequence<T> put(long key, T value) {
+    return new PersistentSequence<>(insert(root, key, value));
+  }
+
+  /**
+   * Removes a key; a missing key returns this sequence.
+   */
+  PersistentSequence<T> remove(long key) {
+    Node<T> newRoot = delete(root, key);
+    return newRoot == root ? this : new PersistentSequence<>(newRoot);
+  }
+
+  /**
+   * Gets the value at a position in key order.
+   */
+  T get(int index) {
+    return valueAt(root, index);
+  }
+
+  /**
+   * Views the values in key order as an unmodifiable list. Creating the view
+   * is O(1) and it keeps reading this version however the sequence changes.
+   */
+  List<T> asList() {
+    return new ListView<>(root);
+  }
+
+  private static <T> T valueAt(Node<T> root, int index) {
+    if (index < 0 || index >= sizeOf(root)) {
+      throw new IndexOutOfBoundsException("Index " + index + " of " + sizeOf(root));
+    }
+    Node<T> node = root;
+    int position = index;
+    while (true) {
+      int leftSize = sizeOf(node.left);
+      if (position < leftSize) {
+        node = node.left;
+      } else if (position == leftSize) {
+        return node.value;
+      } else {
+        position -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  private static <T> Node<T> insert(Node<T> node, long key, T value) {
+    if (node == null) {
+      return new Node<>(key, value, null, null);
+    }
+    if (key < node.key) {
+      return balance(node.with(insert(node.left, key, value), node.right));
+    }
+    if (key > node.key) {
+      return balance(node.with(node.left, insert(node.right, key, value)));
+    }
+    return new Node<>(key, value, node.left, node.right);
+  }
+
+  private static <T> Node<T> delete(Node<T> node, long key) {
+    if (node == null) {
+      return null;
+    }
+    if (key < node.key) {
+      Node<T> left = delete(node.left, key);
+      return left == node.left ? node : balance(node.with(left, node.right));
+    }
+    if (key > node.key) {
+      Node<T> right = delete(node.right, key);
+      return right == node.right ? node : balance(node.with(node.left, right));
+    }
+    if (node.left == null) {
+      return node.right;
+    }
+    if (node.right == null) {
+      return node.left;
+    }
+    Node<T> successor = node.right;
+    while (successor.left != null) {
+      successor = successor.left;
+    }
+    Node<T> right = delete(node.right, successor.key);
+    return balance(new Node<>(successor.key, successor.value, node.left, right));
+  }
+
+  private static <T> Node<T> balance(Node<T> node) {
+    int skew = height(node.left) - height(node.right);
+    if (skew > 1) {
+      Node<T> left = node.left;
+      if (height(left.left) < height(left.right)) {
+        left = rotateLeft(left);
+      }
+      return rotateRight(node.with(left, node.right));
+    }
+    if (skew < -1) {
+      Node<T> right = node.right;
+      if (height(right.right) < height(right.left)) {
+        right = rotateRight(right);
+      }
+      return rotateLeft(node.with(node.left, right));
+    }
+    return node;
+  }
+
+  private static <T> Node<T> rotateLeft(Node<T> node) {
+    Node<T> right = node.right;
+    return right.with(node.with(node.left, right.left), right.right);
+  }
+
+  private static <T> Node<T> rotateRight(Node<T> node) {
+    Node<T> left = node.left;
+    return left.with(left.left, node.with(left.right, node.right));
+  }
+
+  private static <T> Node<T> build(List<? extends T> values, int from, int to) {
+    if (from >= to) {
+      return null;
+    }
+    int mid = (from + to) >>> 1;
+    return new Node<>(mid, values.get(mid), build(values, from, mid), build(values, mid + 1, to));
+  }
+
+  private static int height(Node<?> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static int sizeOf(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static final class Node<T> {
+    final long key;
+    final T value;
+    final Node<T> left;
+    final Node<T> right;
+    final int height;
+    final int size;
+
+    Node(long key, T value, Node<T> left, Node<T> right) {
+      this.key = key;
+      this.value = value;
+      this.left = left;
+      this.right = right;
+      this.height = Math.max(height(left), height(right)) + 1;
+      this.size = sizeOf(left) + sizeOf(right) + 1;
+    }
+
+    Node<T> with(Node<T> newLeft, Node<T> newRight) {
+      return new Node<>(key, value, newLeft, newRight);
+    }
+  }
+
+  private static final class ListView<T> extends AbstractList<T> {
+    private final Node<T> root;
+
+    ListView(Node<T> root) {
+      this.root = root;
+    }
+
+    @Override
+    public T get(int index) {
+      return valueAt(root, index);
+    }
+
+    @Override
+    public int size() {
+      return sizeOf(root);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      // in-order walk with an explicit stack: O(n) for the whole list
+      Deque<Node<T>> path = new ArrayDeque<>();
+      for (Node<T> node = root; node != null; node = node.left) {
+        path.push(node);
+      }
+      return new Iterator<T>() {
+        @Override
+        public boolean hasNext() {
+          return !path.isEmpty();
+        }
+
+        @Override
+        public T next() {
+          if (path.isEmpty()) {
+            throw new NoSuchElementException();
+          }
+          Node<T> node = path.pop();
+          for (Node<T> child = node.right; child != null; child = child.left) {
+            path.push(child);
+          }
+          return node.value;
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,371 @@
+package model.persistence;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+
+/**
+ * Data store split into independent in-memory shards, each behind its own
+ * lock, so writes that land on different shards run in parallel. Members are
+ * placed by a hash of their ID; items and contracts go to the shard of the
+ * item's owner. An owner, their items and the bookings of those items therefore
+ * share a shard, and a booking touches at most two: the owner's and the
+ * borrower's.
+ *
+ * <p>A unit of work that spans shards is committed in two phases: the shards
+ * it touches are locked in index order, every shard builds its next version,
+ * and only then are all of them published. It is kept whole or not at all,
+ * and two commits over the same shards never deadlock. Deleting an item or a
+ * contract by ID does not tell which shard holds it, so those deletes visit
+ * every shard; they are rare next to upserts.
+ *
+ * <p>Loads join the shards' current versions without copying them. The list
+ * is ordered by shard, then by insertion. The versions are captured with every
+ * shard lock held, so a load sees a cross-shard commit whole or not at all.
+ */
+public class ShardedDataStore implements DataStore {
+  private final Shard[] shards;
+  private final List<Integer> allShards;
+
+  /**
+   * Creates a store with one shard per available processor.
+   */
+  public ShardedDataStore() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a store with the given number of shards.
+   *
+   * @param shardCount the number of shards
+   */
+  public ShardedDataStore(int shardCount) {
+    if (shardCount < 1) {
+      throw new IllegalArgumentException("A sharded store needs at least one shard");
+    }
+    shards = new Shard[shardCount];
+    List<Integer> all = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new Shard();
+      all.add(i);
+    }
+    allShards = List.copyOf(all);
+  }
+
+  /**
+   * Gets the number of shards.
+   *
+   * @return the number of shards
+   */
+  public int getShardCount() {
+    return shards.length;
+  }
+
+  /**
+   * Gets the shard that holds a member and everything the member owns.
+   *
+   * @param memberId the member ID
+   * @return the shard index
+   */
+  int shardOf(String memberId) {
+    int hash = memberId.hashCode();
+    return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+  }
+
+  @Override
+  public List<Member> loadMembers() {
+    return loadAll(InMemoryDataStore::loadMembers);
+  }
+
+  @Override
+  public void saveMembers(List<Member> members) {
+    replaceAll(members, Member::getMemberId, InMemoryDataStore::saveMembers);
+  }
+
+  @Override
+  public void upsertMember(Member member) {
+    write(shardOf(member.getMemberId()), store -> store.upsertMember(member));
+  }
+
+  @Override
+  public void upsertMembers(Collection<Member> members) {
+    beginWork().upsertMembers(members).commit();
+  }
+
+  @Override
+  public boolean deleteMember(String memberId) {
+    return delete(shardOf(memberId), store -> store.deleteMember(memberId));
+  }
+
+  @Override
+  public void deleteMembers(Collection<String> memberIds) {
+    UnitOfWork work = beginWork();
+    for (String id : memberIds) {
+      work.deleteMember(id);
+    }
+    work.commit();
+  }
+
+  @Override
+  public List<Item> loadItems() {
+    return loadAll(InMemoryDataStore::loadItems);
+  }
+
+  @Override
+  public void saveItems(List<Item> items) {
+    replaceAll(items, Item::getOwnerId, InMemoryDataStore::saveItems);
+  }
+
+  @Override
+  public void upsertItem(Item item) {
+    write(shardOf(item.getOwnerId()), store -> store.upsertItem(item));
+  }
+
+  @Override
+  public void upsertItems(Collection<Item> items) {
+    UnitOfWork work = beginWork();
+    for (Item item : items) {
+      work.upsertItem(item);
+    }
+    work.commit();
+  }
+
+  @Override
+  public boolean deleteItem(String itemId) {
+    for (int i = 0; i < shards.length; i++) {
+      if (delete(i, store -> store.deleteItem(itemId))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void deleteItems(Collection<String> itemIds) {
+    UnitOfWork work = beginWork();
+    for (String id : itemIds) {
+      work.deleteItem(id);
+    }
+    work.commit();
+  }
+
+  @Override
+  public List<Contract> loadContracts() {
+    return loadAll(InMemoryDataStore::loadContracts);
+  }
+
+  @Override
+  public void saveContracts(List<Contract> contracts) {
+    replaceAll(contracts, Contract::getOwnerId, InMemoryDataStore::saveContracts);
+  }
+
+  @Override
+  public void upsertContract(Contract contract) {
+    write(shardOf(contract.getOwnerId()), store -> store.upsertContract(contract));
+  }
+
+  @Override
+  public void upsertContracts(Collection<Contract> contracts) {
+    beginWork().upsertContracts(contracts).commit();
+  }
+
+  @Override
+  public boolean deleteContract(String contractId) {
+    for (int i = 0; i < shards.length; i++) {
+      if (delete(i, store -> store.deleteContract(contractId))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void deleteContracts(Collection<String> contractIds) {
+    UnitOfWork work = beginWork();
+    for (String id : contractIds) {
+      work.deleteContract(id);
+    }
+    work.commit();
+  }
+
+  @Override
+  public void commit(UnitOfWork work) {
+    UnitOfWork[] parts = new UnitOfWork[shards.length];
+    for (Member member : work.memberUpserts()) {
+      part(parts, shardOf(member.getMemberId())).upsertMember(member);
+    }
+    for (String id : work.memberDeletes()) {
+      part(parts, shardOf(id)).deleteMember(id);
+    }
+    for (Item item : work.itemUpserts()) {
+      part(parts, shardOf(item.getOwnerId())).upsertItem(item);
+    }
+    for (Contract contract : work.contractUpserts()) {
+      part(parts, shardOf(contract.getOwnerId())).upsertContract(contract);
+    }
+    if (!work.itemDeletes().isEmpty() || !work.contractDeletes().isEmpty()) {
+      for (int i = 0; i < shards.length; i++) {
+        UnitOfWork part = part(parts, i);
+        work.itemDeletes().forEach(part::deleteItem);
+        work.contractDeletes().forEach(part::deleteContract);
+      }
+    }
+
+    List<Integer> touched = new ArrayList<>();
+    for (int i = 0; i < parts.length; i++) {
+      if (parts[i] != null) {
+        touched.add(i);
+      }
+    }
+    lock(touched);
+    try {
+      // phase one builds every shard's next version; a failure here publishes nothing
+      List<Runnable> publish = new ArrayList<>(touched.size());
+      for (int i : touched) {
+        publish.add(shards[i].store.prepare(parts[i]));
+      }
+      for (Runnable step : publish) {
+        step.run();
+      }
+    } finally {
+      unlock(touched);
+    }
+  }
+
+  private UnitOfWork part(UnitOfWork[] parts, int shard) {
+    if (parts[shard] == null) {
+      parts[shard] = new UnitOfWork(shards[shard].store);
+    }
+    return parts[shard];
+  }
+
+  private <T> List<T> loadAll(Function<InMemoryDataStore, List<T>> load) {
+    List<List<T>> parts = new ArrayList<>(shards.length);
+    // held only while the versions are captured, which is constant time per shard
+    lock(allShards);
+    try {
+      for (Shard shard : shards) {
+        parts.add(load.apply(shard.store));
+      }
+    } finally {
+      unlock(allShards);
+    }
+    return new JoinedList<>(parts);
+  }
+
+  private <T> void replaceAll(List<T> entities, Function<T, String> ownerOf,
+                              ShardWrite<T> save) {
+    List<List<T>> parts = new ArrayList<>(shards.length);
+    for (int i = 0; i < shards.length; i++) {
+      parts.add(new ArrayList<>());
+    }
+    if (entities != null) {
+      for (T entity : entities) {
+        parts.get(shardOf(ownerOf.apply(entity))).add(entity);
+      }
+    }
+    lock(allShards);
+    try {
+      for (int i = 0; i < shards.length; i++) {
+        save.apply(shards[i].store, parts.get(i));
+      }
+    } finally {
+      unlock(allShards);
+    }
+  }
+
+  private void write(int shard, Consumer<InMemoryDataStore> change) {
+    ReentrantLock lock = shards[shard].lock;
+    lock.lock();
+    try {
+      change.accept(shards[shard].store);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean delete(int shard, Predicate<InMemoryDataStore> change) {
+    ReentrantLock lock = shards[shard].lock;
+    lock.lock();
+    try {
+      return change.test(shards[shard].store);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // ascending shard order, the one order every multi-shard write uses
+  private void lock(List<Integer> indexes) {
+    for (int i : indexes) {
+      shards[i].lock.lock();
+    }
+  }
+
+  private void unlock(List<Integer> indexes) {
+    for (int i = indexes.size() - 1; i >= 0; i--) {
+      shards[indexes.get(i)].lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces one collection of a shard.
+   *
+   * @param <T> the entity type
+   */
+  private interface ShardWrite<T> {
+    void apply(InMemoryDataStore store, List<T> entities);
+  }
+
+  private static final class Shard {
+    final ReentrantLock lock = new ReentrantLock();
+    final InMemoryDataStore store = new InMemoryDataStore();
+  }
+
+  /**
+   * The shards' lists one after the other, as one unmodifiable list.
+   */
+  private static final class JoinedList<T> extends AbstractList<T> {
+    private final List<List<T>> parts;
+    private final int[] ends;
+
+    JoinedList(List<List<T>> parts) {
+      this.parts = parts;
+      this.ends = new int[parts.size()];
+      int end = 0;
+      for (int i = 0; i < ends.length; i++) {
+        end += parts.get(i).size();
+        ends[i] = end;
+      }
+    }
+
+    @Override
+    public T get(int index) {
+      Objects.checkIndex(index, size());
+      int part = 0;
+      while (ends[part] <= index) {
+        part++;
+      }
+      return parts.get(part).get(part == 0 ? index : index - ends[part - 1]);
+    }
+
+    @Override
+    public int size() {
+      return ends.length == 0 ? 0 : ends[ends.length - 1];
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      return parts.stream().flatMap(List::stream).iterator();
+    }
+  }
+}
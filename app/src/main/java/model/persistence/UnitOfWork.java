@@ -0,0 +1,214 @@
+package model.persistence;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+
+/**
+ * Changes to several collections of a data store, buffered until they are
+ * committed together. Nothing reaches the store before {@link #commit()}, so
+ * aborting, or closing without committing, leaves no trace. The last change
+ * to an ID wins: deleting an entity drops an earlier upsert of it, and the
+ * other way round. A unit of work is used by one thread and only once.
+ */
+public final class UnitOfWork implements AutoCloseable {
+  private final DataStore store;
+  private final Map<String, Member> memberUpserts = new LinkedHashMap<>();
+  private final Set<String> memberDeletes = new LinkedHashSet<>();
+  private final Map<String, Item> itemUpserts = new LinkedHashMap<>();
+  private final Set<String> itemDeletes = new LinkedHashSet<>();
+  private final Map<String, Contract> contractUpserts = new LinkedHashMap<>();
+  private final Set<String> contractDeletes = new LinkedHashSet<>();
+  private boolean open = true;
+
+  UnitOfWork(DataStore store) {
+    this.store = store;
+  }
+
+  /**
+   * Buffers inserting or replacing a member.
+   *
+   * @param member the member to store
+   * @return this unit of work
+   */
+  public UnitOfWork upsertMember(Member member) {
+    checkOpen();
+    memberDeletes.remove(member.getMemberId());
+    memberUpserts.put(member.getMemberId(), member);
+    return this;
+  }
+
+  /**
+   * Buffers inserting or replacing several members.
+   *
+   * @param members the members to store
+   * @return this unit of work
+   */
+  public UnitOfWork upsertMembers(Collection<Member> members) {
+    for (Member member : members) {
+      upsertMember(member);
+    }
+    return this;
+  }
+
+  /**
+   * Buffers deleting a member.
+   *
+   * @param memberId the ID of the member to delete
+   * @return this unit of work
+   */
+  public UnitOfWork deleteMember(String memberId) {
+    checkOpen();
+    memberUpserts.remove(memberId);
+    memberDeletes.add(memberId);
+    return this;
+  }
+
+  /**
+   * Buffers inserting or replacing an item.
+   *
+   * @param item the item to store
+   * @return this unit of work
+   */
+  public UnitOfWork upsertItem(Item item) {
+    checkOpen();
+    itemDeletes.remove(item.getItemId());
+    itemUpserts.put(item.getItemId(), item);
+    return this;
+  }
+
+  /**
+   * Buffers deleting an item.
+   *
+   * @param itemId the ID of the item to delete
+   * @return this unit of work
+   */
+  public UnitOfWork deleteItem(String itemId) {
+    checkOpen();
+    itemUpserts.remove(itemId);
+    itemDeletes.add(itemId);
+    return this;
+  }
+
+  /**
+   * Buffers inserting or replacing a contract.
+   *
+   * @param contract the contract to store
+   * @return this unit of work
+   */
+  public UnitOfWork upsertContract(Contract contract) {
+    checkOpen();
+    contractDeletes.remove(contract.getContractId());
+    contractUpserts.put(contract.getContractId(), contract);
+    return this;
+  }
+
+  /**
+   * Buffers inserting or replacing several contracts.
+   *
+   * @param contracts the contracts to store
+   * @return this unit of work
+   */
+  public UnitOfWork upsertContracts(Collection<Contract> contracts) {
+    for (Contract contract : contracts) {
+      upsertContract(contract);
+    }
+    return this;
+  }
+
+  /**
+   * Buffers deleting a contract.
+   *
+   * @param contractId the ID of the contract to delete
+   * @return this unit of work
+   */
+  public UnitOfWork deleteContract(String contractId) {
+    checkOpen();
+    contractUpserts.remove(contractId);
+    contractDeletes.add(contractId);
+    return this;
+  }
+
+  /**
+   * Checks whether no change is buffered.
+   *
+   * @return true if committing would change nothing
+   */
+  public boolean isEmpty() {
+    return memberUpserts.isEmpty() && memberDeletes.isEmpty() && itemUpserts.isEmpty()
+        && itemDeletes.isEmpty() && contractUpserts.isEmpty() && contractDeletes.isEmpty();
+  }
+
+  /**
+   * Applies every buffered change to the store at once. If the store fails,
+   * none of the changes is kept. The unit of work is finished either way.
+   *
+   * @throws IllegalStateException if the unit of work was already finished
+   */
+  public void commit() {
+    checkOpen();
+    open = false;
+    if (!isEmpty()) {
+      store.commit(this);
+    }
+  }
+
+  /**
+   * Discards every buffered change. Aborting a finished unit of work does nothing.
+   */
+  public void abort() {
+    open = false;
+    memberUpserts.clear();
+    memberDeletes.clear();
+    itemUpserts.clear();
+    itemDeletes.clear();
+    contractUpserts.clear();
+    contractDeletes.clear();
+  }
+
+  /**
+   * Aborts the unit of work unless it was committed.
+   */
+  @Override
+  public void close() {
+    if (open) {
+      abort();
+    }
+  }
+
+  Collection<Member> memberUpserts() {
+    return Collections.unmodifiableCollection(memberUpserts.values());
+  }
+
+  Collection<String> memberDeletes() {
+    return Collections.unmodifiableSet(memberDeletes);
+  }
+
+  Collection<Item> itemUpserts() {
+    return Collections.unmodifiableCollection(itemUpserts.values());
+  }
+
+  Collection<String> itemDeletes() {
+    return Collections.unmodifiableSet(itemDeletes);
+  }
+
+  Collection<Contract> contractUpserts() {
+    return Collections.unmodifiableCollection(contractUpserts.values());
+  }
+
+  Collection<String> contractDeletes() {
+    return Collections.unmodifiableSet(contractDeletes);
+  }
+
+  private void checkOpen() {
+    if (!open) {
+      throw new IllegalStateException("Unit of work is already finished");
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package model.persistence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One collection of the in-memory store, kept in insertion order, with
+ * multi-version reads. Each version is immutable: a hash array mapped trie
+ * from ID to insertion position and a persistent AVL tree from position to
+ * entity. A write builds the next version in O(log n), sharing every untouched
+ * node with the last one, and publishes it with one volatile write. Taking a
+ * snapshot is O(1) and it never changes under the reader; old versions are
+ * reclaimed by the garbage collector after the last reader lets go. Replacing
+ * the whole collection builds a balanced tree directly instead of inserting
+ * one row at a time.
+ *
+ * @param <T> the entity type
+ */
+final class VersionedTable<T> {
+  private final Function<T, String> idOf;
+  private volatile Version<T> current = new Version<>(
+      PersistentHashMap.empty(), PersistentSequence.empty(), 0);
+
+  /**
+   * Creates an empty table.
+   *
+   * @param idOf reads the key of an entity
+   */
+  VersionedTable(Function<T, String> idOf) {
+    this.idOf = idOf;
+  }
+
+  /**
+   * Gets the current version of the collection.
+   *
+   * @return an immutable list in insertion order
+   */
+  List<T> snapshot() {
+    return current.list;
+  }
+
+  synchronized void put(T entity) {
+    current = current.put(idOf.apply(entity), entity);
+  }
+
+  synchronized void putAll(Collection<? extends T> entities) {
+    Version<T> next = current;
+    for (T entity : entities) {
+      next = next.put(idOf.apply(entity), entity);
+    }
+    current = next; // the whole batch becomes visible at once
+  }
+
+  synchronized void replaceAll(Collection<? extends T> entities) {
+    // build the new version in bulk: positions first, then one balanced tree
+    PersistentHashMap<String, Long> positions = PersistentHashMap.empty();
+    List<T> rows = new ArrayList<>(entities.size());
+    for (T entity : entities) {
+      String id = idOf.apply(entity);
+      Long position = positions.get(id);
+      if (position == null) {
+        positions = positions.put(id, (long) rows.size());
+        rows.add(entity);
+      } else {
+        rows.set(position.intValue(), entity); // a repeated ID keeps its first place
+      }
+    }
+    current = new Version<>(positions, PersistentSequence.of(rows), rows.size());
+  }
+
+  /**
+   * Builds the version after the given deletes and upserts without publishing
+   * it. The caller keeps every other writer out, usually by holding this
+   * table's lock, from here until {@link #publish}.
+   *
+   * @param deletes the IDs to remove
+   * @param upserts the entities to insert or replace
+   * @return the next version
+   */
+  Version<T> prepare(Collection<String> deletes, Collection<? extends T> upserts) {
+    Version<T> next = current;
+    for (String id : deletes) {
+      next = next.remove(id);
+    }
+    for (T entity : upserts) {
+      next = next.put(idOf.apply(entity), entity);
+    }
+    return next;
+  }
+
+  void publish(Version<T> next) {
+    current = next;
+  }
+
+  synchronized boolean remove(String id) {
+    Version<T> next = current.remove(id);
+    if (next == current) {
+      return false;
+    }
+    current = next;
+    return true;
+  }
+
+  synchronized void removeAll(Collection<String> ids) {
+    Version<T> next = current;
+    for (String id : ids) {
+      next = next.remove(id);
+    }
+    current = next;
+  }
+
+  static final class Version<T> {
+    final PersistentHashMap<String, Long> positions;
+    final PersistentSequence<T> rows;
+    final long nextPosition;
+    final List<T> list;
+
+    Version(PersistentHashMap<String, Long> positions, PersistentSequence<T> rows,
+            long nextPosition) {
+      this.positions = positions;
+      this.rows = rows;
+      this.nextPosition = nextPosition;
+      this.list = rows.asList();
+    }
+
+    Version<T> put(String id, T entity) {
+      Long position = positions.get(id);
+      if (position != null) {
+        // an upsert keeps its place, as in a LinkedHashMap
+        return new Version<>(positions, rows.put(position, entity), nextPosition);
+      }
+      return new Version<>(positions.put(id, nextPosition), rows.put(nextPosition, entity),
+          nextPosition + 1);
+    }
+
+    Version<T> remove(String id) {
+      Long position = positions.get(id);
+      if (position == null) {
+        return this;
+      }
+      return new Version<>(positions.remove(id), rows.remove(position), nextPosition);
+    }
+  }
+}
@@ -0,0 +1,652 @@
+package model.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+
+/**
+ * File-backed data store that appends every mutation to a write-ahead log.
+ * The current state is held in memory and rebuilt by replaying the log on startup.
+ *
+ * <p>Records are buffered and fsynced in groups: a flush happens when the
+ * buffer reaches the configured size or when the flush interval elapses, so
+ * many mutations share one fsync. Call {@link #flush()} to force durability.
+ *
+ * <p>Each record is {@code [length][crc32][op][payload]}. A torn or corrupt
+ * tail left by a crash is detected on replay and cut off. A unit of work, and
+ * a save that replaces a whole collection, is logged as one record holding all
+ * of its changes, so it is replayed whole or not at all.
+ *
+ * <p>If a flush fails the store stops: the unwritten records stay buffered and
+ * every later mutation throws, so nothing is appended after the gap.
+ */
+public class WriteAheadLogDataStore implements DataStore, Closeable {
+  /** Default group commit interval in milliseconds. */
+  public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 10;
+  /** Default number of buffered bytes that triggers a flush. */
+  public static final int DEFAULT_FLUSH_BYTES = 64 * 1024;
+
+  private static final byte MEMBER_UPSERT = 1;
+  private static final byte MEMBER_DELETE = 2;
+  private static final byte MEMBER_CLEAR = 3;
+  private static final byte ITEM_UPSERT = 4;
+  private static final byte ITEM_DELETE = 5;
+  private static final byte ITEM_CLEAR = 6;
+  private static final byte CONTRACT_UPSERT = 7;
+  private static final byte CONTRACT_DELETE = 8;
+  private static final byte CONTRACT_CLEAR = 9;
+  private static final byte TRANSACTION = 10;
+
+  private final InMemoryDataStore state = new InMemoryDataStore();
+  private final TimeService time;
+  private final FileChannel channel;
+  private final int flushBytes;
+  private final ScheduledExecutorService flusher;
+  private final Object flushLock = new Object(); // taken before this, never after
+  private boolean flushRequested; // guarded by this
+  private volatile IOException failure; // set once, by the flush that failed
+
+  // Guarded by this: records waiting for the next group commit
+  private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+  private final ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+  private final DataOutputStream record = new DataOutputStream(scratch);
+  private final CRC32 crc = new CRC32();
+
+  /**
+   * Opens or creates a log with the default group commit settings.
+   *
+   * @param logFile the log file
+   * @param time the time service handed to restored entities
+   * @throws IOException if the log cannot be opened or replayed
+   */
+  public WriteAheadLogDataStore(Path logFile, TimeService time) throws IOException {
+    this(logFile, time, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_FLUSH_BYTES);
+  }
+
+  /**
+   * Opens or creates a log and replays it.
+   *
+   * @param logFile the log file
+   * @param time the time service handed to restored entities
+   * @param flushIntervalMillis the maximum time a record waits for its fsync, 0 to disable
+   * @param flushBytes the buffered size that triggers an immediate flush
+   * @throws IOException if the log cannot be opened or replayed
+   */
+  public WriteAheadLogDataStore(Path logFile, TimeService time, long flushIntervalMillis,
+                                int flushBytes) throws IOException {
+    if (flushBytes <= 0) {
+      throw new IllegalArgumentException("Flush size must be positive");
+    }
+    this.time = time;
+    this.flushBytes = flushBytes;
+    this.channel = FileChannel.open(logFile, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      replay(logFile);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+
+    // Size-triggered flushes also run here so writers never wait on an fsync
+    flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "wal-flusher");
+      t.setDaemon(true);
+      return t;
+    });
+    if (flushIntervalMillis > 0) {
+      flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis,
+          flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @Override
+  public synchronized List<Member> loadMembers() {
+    return state.loadMembers();
+  }
+
+  @Override
+  public synchronized void saveMembers(List<Member> members) {
+    List<Member> all = members == null ? List.of() : members;
+    // one record, so a torn tail never replays a cleared, half refilled collection
+    begin(TRANSACTION);
+    writeInt(1 + all.size());
+    writeByte(MEMBER_CLEAR);
+    for (Member member : all) {
+      writeByte(MEMBER_UPSERT);
+      writeMember(member);
+    }
+    append();
+    state.saveMembers(all);
+  }
+
+  @Override
+  public synchronized void upsertMember(Member member) {
+    begin(MEMBER_UPSERT);
+    writeMember(member);
+    append();
+    state.upsertMember(member);
+  }
+
+  @Override
+  public synchronized void upsertMembers(Collection<Member> members) {
+    for (Member member : members) {
+      upsertMember(member);
+    }
+  }
+
+  @Override
+  public synchronized boolean deleteMember(String memberId) {
+    begin(MEMBER_DELETE);
+    writeString(memberId);
+    append();
+    return state.deleteMember(memberId);
+  }
+
+  @Override
+  public synchronized void deleteMembers(Collection<String> memberIds) {
+    for (String id : memberIds) {
+      deleteMember(id);
+    }
+  }
+
+  @Override
+  public synchronized List<Item> loadItems() {
+    return state.loadItems();
+  }
+
+  @Override
+  public synchronized void saveItems(List<Item> items) {
+    List<Item> all = items == null ? List.of() : items;
+    begin(TRANSACTION);
+    writeInt(1 + all.size());
+    writeByte(ITEM_CLEAR);
+    for (Item item : all) {
+      writeByte(ITEM_UPSERT);
+      writeItem(item);
+    }
+    append();
+    state.saveItems(all);
+  }
+
+  @Override
+  public synchronized void upsertItem(Item item) {
+    begin(ITEM_UPSERT);
+    writeItem(item);
+    append();
+    state.upsertItem(item);
+  }
+
+  @Override
+  public synchronized void upsertItems(Collection<Item> items) {
+    for (Item item : items) {
+      upsertItem(item);
+    }
+  }
+
+  @Override
+  public synchronized boolean deleteItem(String itemId) {
+    begin(ITEM_DELETE);
+    writeString(itemId);
+    append();
+    return state.deleteItem(itemId);
+  }
+
+  @Override
+  public synchronized void deleteItems(Collection<String> itemIds) {
+    for (String id : itemIds) {
+      deleteItem(id);
+    }
+  }
+
+  @Override
+  public synchronized List<Contract> loadContracts() {
+    return state.loadContracts();
+  }
+
+  @Override
+  public synchronized void saveContracts(List<Contract> contracts) {
+    List<Contract> all = contracts == null ? List.of() : contracts;
+    begin(TRANSACTION);
+    writeInt(1 + all.size());
+    writeByte(CONTRACT_CLEAR);
+    for (Contract contract : all) {
+      writeByte(CONTRACT_UPSERT);
+      writeContract(contract);
+    }
+    append();
+    state.saveContracts(all);
+  }
+
+  @Override
+  public synchronized void upsertContract(Contract contract) {
+    begin(CONTRACT_UPSERT);
+    writeContract(contract);
+    append();
+    state.upsertContract(contract);
+  }
+
+  @Override
+  public synchronized void upsertContracts(Collection<Contract> contracts) {
+    for (Contract contract : contracts) {
+      upsertContract(contract);
+    }
+  }
+
+  @Override
+  public synchronized boolean deleteContract(String contractId) {
+    begin(CONTRACT_DELETE);
+    writeString(contractId);
+    append();
+    return state.deleteContract(contractId);
+  }
+
+  @Override
+  public synchronized void deleteContracts(Collection<String> contractIds) {
+    for (String id : contractIds) {
+      deleteContract(id);
+    }
+  }
+
+  @Override
+  public synchronized void commit(UnitOfWork work) {
+    begin(TRANSACTION);
+    writeInt(work.memberDeletes().size() + work.memberUpserts().size()
+        + work.itemDeletes().size() + work.itemUpserts().size()
+        + work.contractDeletes().size() + work.contractUpserts().size());
+    for (String id : work.memberDeletes()) {
+      writeByte(MEMBER_DELETE);
+      writeString(id);
+    }
+    for (Member member : work.memberUpserts()) {
+      writeByte(MEMBER_UPSERT);
+      writeMember(member);
+    }
+    for (String id : work.itemDeletes()) {
+      writeByte(ITEM_DELETE);
+      writeString(id);
+    }
+    for (Item item : work.itemUpserts()) {
+      writeByte(ITEM_UPSERT);
+      writeItem(item);
+    }
+    for (String id : work.contractDeletes()) {
+      writeByte(CONTRACT_DELETE);
+      writeString(id);
+    }
+    for (Contract contract : work.contractUpserts()) {
+      writeByte(CONTRACT_UPSERT);
+      writeContract(contract);
+    }
+    append();
+    state.commit(work);
+  }
+
+  /**
+   * Writes all buffered records to the log and fsyncs it. Records appended
+   * while the fsync runs wait for the next flush. Records stay buffered until
+   * the fsync returns; if it fails, the store refuses all further mutations.
+   *
+   * @throws UncheckedIOException if the log cannot be written, now or by an earlier flush
+   */
+  public void flush() {
+    synchronized (flushLock) {
+      checkWritable();
+      byte[] batch;
+      synchronized (this) {
+        if (pending.size() == 0) {
+          return;
+        }
+        batch = pending.toByteArray();
+        flushRequested = false;
+      }
+      try {
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(false);
+      } catch (IOException e) {
+        failure = e;
+        throw new UncheckedIOException("Could not write the log", e);
+      }
+      synchronized (this) {
+        // keep whatever was appended while the batch was being written
+        byte[] all = pending.toByteArray();
+        pending.reset();
+        pending.write(all, batch.length, all.length - batch.length);
+      }
+    }
+  }
+
+  /**
+   * Flushes pending records and closes the log.
+   */
+  @Override
+  public void close() throws IOException {
+    flusher.shutdown();
+    try {
+      flusher.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (UncheckedIOException e) {
+      // recorded in failure, the next mutation or flush reports it to its caller
+    }
+  }
+
+  private void checkWritable() {
+    IOException e = failure;
+    if (e != null) {
+      throw new UncheckedIOException("The log failed to write and accepts no more changes", e);
+    }
+  }
+
+  // --- writing ---
+
+  private void begin(byte op) {
+    checkWritable();
+    scratch.reset();
+    writeByte(op);
+  }
+
+  private void append() {
+    crc.reset();
+    byte[] payload = scratch.toByteArray();
+    crc.update(payload, 0, payload.length);
+    int checksum = (int) crc.getValue();
+    writeIntTo(pending, payload.length);
+    writeIntTo(pending, checksum);
+    pending.write(payload, 0, payload.length);
+    if (pending.size() >= flushBytes && !flushRequested && !flusher.isShutdown()) {
+      flushRequested = true;
+      flusher.execute(this::flushQuietly);
+    }
+  }
+
+  private static void writeIntTo(ByteArrayOutputStream out, int v) {
+    out.write(v >>> 24);
+    out.write(v >>> 16);
+    out.write(v >>> 8);
+    out.write(v);
+  }
+
+  private void writeMember(Member member) {
+    writeString(member.getMemberId());
+    writeString(member.getName());
+    writeString(member.getEmail());
+    writeString(member.getPhone());
+    writeInt(member.getCreatedDate());
+    writeDouble(member.getCredit());
+  }
+
+  private void writeItem(Item item) {
+    writeString(item.getItemId());
+    writeString(item.getName());
+    writeString(item.getCategory().name());
+    writeString(item.getDescription());
+    writeDouble(item.getCostPerDay());
+    writeInt(item.getCreationDate());
+    writeString(item.getOwnerId());
+  }
+
+  private void writeContract(Contract contract) {
+    writeString(contract.getContractId());
+    writeString(contract.getBorrowerId());
+    writeString(contract.getItemId());
+    writeInt(contract.getStartDay());
+    writeInt(contract.getEndDay());
+    writeDouble(contract.getTotalCost());
+  }
+
+  private void writeByte(int v) {
+    try {
+      record.writeByte(v);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeInt(int v) {
+    try {
+      record.writeInt(v);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeDouble(double v) {
+    try {
+      record.writeDouble(v);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeString(String v) {
+    try {
+      record.writeUTF(v);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // --- replay ---
+
+  private void replay(Path logFile) throws IOException {
+    Map<String, Member> members = new LinkedHashMap<>();
+    Map<String, Item> items = new LinkedHashMap<>();
+    Map<String, Contract> contracts = new LinkedHashMap<>();
+    // Every entity ever seen, so records can still resolve references to deleted ones
+    Map<String, Member> knownMembers = new HashMap<>();
+    Map<String, Item> knownItems = new HashMap<>();
+    Map<String, Contract> knownContracts = new HashMap<>();
+
+    long validLength = 0;
+    long fileLength = channel.size();
+    CRC32 check = new CRC32();
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(logFile)))) {
+      while (true) {
+        byte[] payload;
+        try {
+          int length = in.readInt();
+          final int checksum = in.readInt();
+          if (length <= 0 || length > fileLength - validLength) {
+            break;
+          }
+          payload = new byte[length];
+          in.readFully(payload);
+          check.reset();
+          check.update(payload, 0, length);
+          if ((int) check.getValue() != checksum) {
+            break;
+          }
+        } catch (EOFException e) {
+          break;
+        }
+        apply(new DataInputStream(new ByteArrayInputStream(payload)), members, items, contracts,
+            knownMembers, knownItems, knownContracts);
+        validLength += 8 + payload.length;
+      }
+    }
+
+    // Drop a torn tail so new records follow the last complete one
+    channel.truncate(validLength);
+    channel.position(validLength);
+
+    state.upsertMembers(members.values());
+    state.upsertItems(items.values());
+    state.upsertContracts(contracts.values());
+  }
+
+  private void apply(DataInputStream in, Map<String, Member> members, Map<String, Item> items,
+                     Map<String, Contract> contracts, Map<String, Member> knownMembers,
+                     Map<String, Item> knownItems, Map<String, Contract> knownContracts)
+      throws IOException {
+    byte op = in.readByte();
+    switch (op) {
+      case MEMBER_UPSERT:
+        Member member = readMember(in, knownMembers);
+        members.put(member.getMemberId(), member);
+        break;
+      case MEMBER_DELETE:
+        // later records cannot link new items or bookings to a deleted member
+        String memberId = in.readUTF();
+        members.remove(memberId);
+        knownMembers.remove(memberId);
+        break;
+      case MEMBER_CLEAR:
+        members.clear();
+        break;
+      case ITEM_UPSERT:
+        Item item = readItem(in, knownMembers, knownItems);
+        if (item != null) {
+          items.put(item.getItemId(), item);
+        }
+        break;
+      case ITEM_DELETE:
+        String itemId = in.readUTF();
+        items.remove(itemId);
+        Item deleted = knownItems.remove(itemId);
+        Member owner = deleted == null ? null : knownMembers.get(deleted.getOwnerId());
+        if (owner != null) {
+          owner.removeItem(deleted);
+        }
+        break;
+      case ITEM_CLEAR:
+        items.clear();
+        break;
+      case CONTRACT_UPSERT:
+        Contract contract = readContract(in, knownMembers, knownItems, knownContracts);
+        if (contract != null) {
+          contracts.put(contract.getContractId(), contract);
+        }
+        break;
+      case CONTRACT_DELETE:
+        contracts.remove(in.readUTF());
+        break;
+      case CONTRACT_CLEAR:
+        contracts.clear();
+        break;
+      case TRANSACTION:
+        for (int i = in.readInt(); i > 0; i--) {
+          apply(in, members, items, contracts, knownMembers, knownItems, knownContracts);
+        }
+        break;
+      default:
+        throw new IOException("Unknown log record type: " + op);
+    }
+  }
+
+  private Member readMember(DataInputStream in, Map<String, Member> knownMembers)
+      throws IOException {
+    String id = in.readUTF();
+    String name = in.readUTF();
+    String email = in.readUTF();
+    String phone = in.readUTF();
+    int created = in.readInt();
+    double credit = in.readDouble();
+    Member member = knownMembers.get(id);
+    if (member == null) {
+      member = new Member(id, name, email, phone, created);
+      knownMembers.put(id, member);
+    } else {
+      // update in place so items and contracts keep pointing at the same member
+      member.updateName(name);
+      member.updateEmail(email);
+      member.updatePhone(phone);
+    }
+    member.restoreCredit(credit);
+    return member;
+  }
+
+  private Item readItem(DataInputStream in, Map<String, Member> knownMembers,
+                        Map<String, Item> knownItems) throws IOException {
+    String id = in.readUTF();
+    String name = in.readUTF();
+    Item.Category category = Item.Category.valueOf(in.readUTF());
+    String description = in.readUTF();
+    double costPerDay = in.readDouble();
+    int created = in.readInt();
+    String ownerId = in.readUTF();
+    Item item = knownItems.get(id);
+    if (item != null) {
+      item.setName(name);
+      item.setCategory(category);
+      item.setDescription(description);
+      item.setCostPerDay(costPerDay);
+      return item;
+    }
+    Member owner = knownMembers.get(ownerId);
+    if (owner == null) {
+      return null;
+    }
+    item = new Item(id, name, category, description, costPerDay, owner, created, time);
+    // link without the registration bonus, the owner's credit is logged separately
+    double credit = owner.getCredit();
+    owner.addItem(item);
+    owner.restoreCredit(credit);
+    knownItems.put(id, item);
+    return item;
+  }
+
+  private Contract readContract(DataInputStream in, Map<String, Member> knownMembers,
+                                Map<String, Item> knownItems,
+                                Map<String, Contract> knownContracts) throws IOException {
+    String id = in.readUTF();
+    final String borrowerId = in.readUTF();
+    final String itemId = in.readUTF();
+    int startDay = in.readInt();
+    int endDay = in.readInt();
+    double totalCost = in.readDouble();
+    Contract contract = knownContracts.get(id);
+    if (contract != null) {
+      // an existing booking keeps its links even if its item or borrower was deleted since
+      return contract;
+    }
+    Member borrower = knownMembers.get(borrowerId);
+    Item item = knownItems.get(itemId);
+    if (borrower == null || item == null) {
+      return null;
+    }
+    contract = new Contract(id, borrower, item, startDay, endDay, totalCost, time);
+    item.addContract(contract);
+    knownContracts.put(id, contract);
+    return contract;
+  }
+}
@@ -0,0 +1,182 @@
+package model.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import model.entity.Item;
+
+/**
+ * In-memory inverted index over item names and descriptions. Text is split
+ * into lower case runs of letters and digits. Terms are kept sorted, so a
+ * prefix query is one range scan over the term map.
+ *
+ * <p>Updates are incremental: the index remembers which terms each item was
+ * filed under and only touches those postings when the item changes or goes
+ * away. Searches share a read lock; updates take the write lock.
+ */
+public class ItemSearchIndex {
+  private final TreeMap<String, Set<String>> postings = new TreeMap<>();
+  private final Map<String, Set<String>> termsByItem = new HashMap<>();
+  private final Map<String, Item.Category> categoryByItem = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Splits text into lower case search terms.
+   *
+   * @param text the text to split, may be null
+   * @return the distinct terms in order of first appearance
+   */
+  public static Set<String> tokenize(String text) {
+    Set<String> terms = new LinkedHashSet<>();
+    if (text == null) {
+      return terms;
+    }
+    String lower = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lower.length(); i++) {
+      boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+      if (word && start < 0) {
+        start = i;
+      } else if (!word && start >= 0) {
+        terms.add(lower.substring(start, i));
+        start = -1;
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * Adds an item, or refreshes it if it is already indexed.
+   *
+   * @param item the item to index
+   */
+  public void put(Item item) {
+    Set<String> terms = tokenize(item.getName());
+    terms.addAll(tokenize(item.getDescription()));
+    String itemId = item.getItemId();
+    lock.writeLock().lock();
+    try {
+      Set<String> old = termsByItem.put(itemId, terms);
+      if (old != null) {
+        for (String term : old) {
+          if (!terms.contains(term)) {
+            unfile(term, itemId);
+          }
+        }
+      }
+      for (String term : terms) {
+        if (old == null || !old.contains(term)) {
+          postings.computeIfAbsent(term, t -> new HashSet<>()).add(itemId);
+        }
+      }
+      categoryByItem.put(itemId, item.getCategory());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes an item.
+   *
+   * @param itemId the ID of the item to remove
+   */
+  public void remove(String itemId) {
+    lock.writeLock().lock();
+    try {
+      Set<String> old = termsByItem.remove(itemId);
+      if (old != null) {
+        for (String term : old) {
+          unfile(term, itemId);
+        }
+      }
+      categoryByItem.remove(itemId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void unfile(String term, String itemId) {
+    Set<String> ids = postings.get(term);
+    if (ids != null && ids.remove(itemId) && ids.isEmpty()) {
+      postings.remove(term);
+    }
+  }
+
+  /**
+   * Finds items whose name or description has a word starting with every
+   * query term. An empty query matches every item.
+   *
+   * @param query the search text
+   * @param category only return items in this category, or null for any
+   * @param limit the maximum number of results
+   * @return the matching item IDs in ID order
+   */
+  public List<String> search(String query, Item.Category category, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+    Set<String> terms = tokenize(query);
+    lock.readLock().lock();
+    try {
+      Set<String> matches = null;
+      for (String term : terms) {
+        Set<String> ids = prefixMatches(term);
+        if (matches == null) {
+          matches = ids;
+        } else {
+          matches.retainAll(ids);
+        }
+        if (matches.isEmpty()) {
+          return Collections.emptyList();
+        }
+      }
+      TreeSet<String> sorted = new TreeSet<>(matches == null ? categoryByItem.keySet() : matches);
+      List<String> result = new ArrayList<>(Math.min(limit, sorted.size()));
+      for (String itemId : sorted) {
+        if (category == null || categoryByItem.get(itemId) == category) {
+          result.add(itemId);
+          if (result.size() == limit) {
+            break;
+          }
+        }
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private Set<String> prefixMatches(String prefix) {
+    SortedMap<String, Set<String>> range = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+    Set<String> ids = new HashSet<>();
+    for (Set<String> posting : range.values()) {
+      ids.addAll(posting);
+    }
+    return ids;
+  }
+
+  /**
+   * Gets the number of distinct terms, for diagnostics.
+   *
+   * @return the term count
+   */
+  public int termCount() {
+    lock.readLock().lock();
+    try {
+      return postings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package model.service;
+
+import model.entity.Contract;
+
+/**
+ * The result of one request in a batch booking: either the booked contract
+ * or the reason the request was rejected.
+ */
+public final class ContractOutcome {
+  private final ContractRequest request;
+  private final Contract contract;
+  private final String failureReason;
+
+  private ContractOutcome(ContractRequest request, Contract contract, String failureReason) {
+    this.request = request;
+    this.contract = contract;
+    this.failureReason = failureReason;
+  }
+
+  static ContractOutcome booked(ContractRequest request, Contract contract) {
+    return new ContractOutcome(request, contract, null);
+  }
+
+  static ContractOutcome failed(ContractRequest request, String reason) {
+    return new ContractOutcome(request, null, reason);
+  }
+
+  /**
+   * Gets the request this outcome belongs to.
+   *
+   * @return the request
+   */
+  public ContractRequest getRequest() {
+    return request;
+  }
+
+  /**
+   * Checks if the request was booked.
+   *
+   * @return true if a contract was created
+   */
+  public boolean isBooked() {
+    return contract != null;
+  }
+
+  /**
+   * Gets the booked contract.
+   *
+   * @return the contract, or null if the request failed
+   */
+  public Contract getContract() {
+    return contract;
+  }
+
+  /**
+   * Gets the reason the request failed.
+   *
+   * @return the reason, or null if the request was booked
+   */
+  public String getFailureReason() {
+    return failureReason;
+  }
+}
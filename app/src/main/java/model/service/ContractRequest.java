@@ -0,0 +1,94 @@
+package model.service;
+
+import java.util.Objects;
+import model.LendingCostStrategy;
+import model.entity.Item;
+import model.entity.Member;
+
+/**
+ * One booking in a batch passed to ContractService.createContracts. The
+ * members and item are only read back by the service, which needs the live
+ * instances rather than the copies the entity getters hand out.
+ */
+public final class ContractRequest {
+  private final Member borrower;
+  private final Member owner;
+  private final Item item;
+  private final int startDay;
+  private final int endDay;
+  private final LendingCostStrategy costStrategy;
+
+  /**
+   * Creates a booking request.
+   *
+   * @param borrower the member borrowing the item
+   * @param owner the member who owns the item
+   * @param item the item being borrowed
+   * @param startDay the start day of the contract
+   * @param endDay the end day of the contract
+   * @param costStrategy the cost calculation strategy
+   */
+  public ContractRequest(Member borrower, Member owner, Item item, int startDay, int endDay,
+                         LendingCostStrategy costStrategy) {
+    this.borrower = Objects.requireNonNull(borrower, "Borrower required");
+    this.owner = Objects.requireNonNull(owner, "Owner required");
+    this.item = Objects.requireNonNull(item, "Item required");
+    this.startDay = startDay;
+    this.endDay = endDay;
+    this.costStrategy = Objects.requireNonNull(costStrategy, "Cost strategy required");
+  }
+
+  /**
+   * Gets the borrower.
+   *
+   * @return the member borrowing the item
+   */
+  Member getBorrower() {
+    return borrower;
+  }
+
+  /**
+   * Gets the owner.
+   *
+   * @return the member who owns the item
+   */
+  Member getOwner() {
+    return owner;
+  }
+
+  /**
+   * Gets the item.
+   *
+   * @return the item being borrowed
+   */
+  Item getItem() {
+    return item;
+  }
+
+  /**
+   * Gets the start day.
+   *
+   * @return the start day of the contract
+   */
+  public int getStartDay() {
+    return startDay;
+  }
+
+  /**
+   * Gets the end day.
+   *
+   * @return the end day of the contract
+   */
+  public int getEndDay() {
+    return endDay;
+  }
+
+  /**
+   * Gets the cost strategy.
+   *
+   * @return the cost calculation strategy
+   */
+  public LendingCostStrategy getCostStrategy() {
+    return costStrategy;
+  }
+}
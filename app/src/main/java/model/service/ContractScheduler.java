@@ -0,0 +1,160 @@
+package model.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import model.entity.Contract;
+
+/**
+ * Moves contracts through their lifecycle as days pass. Contracts are kept in
+ * buckets keyed by the day their next transition is due, so an advance only
+ * touches the contracts that are due instead of rescanning all of them.
+ */
+public class ContractScheduler implements TimeService.DayListener {
+  private final TimeService clock;
+  private final TreeMap<Integer, List<Event>> wheel = new TreeMap<>(); // guarded by this
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private int pending; // guarded by this
+
+  /**
+   * Lifecycle transitions fired by the scheduler.
+   */
+  public enum Transition {
+    /** The start day has come and the item is with the borrower. */
+    STARTED,
+    /** The end day has passed and the item is back with its owner. */
+    RETURNED,
+    /** The finished booking was dropped from the item's availability index. */
+    EXPIRED
+  }
+
+  /**
+   * Gets notified about contract transitions.
+   */
+  public interface Listener {
+    /**
+     * Called after a contract made a transition.
+     *
+     * @param contract the contract
+     * @param transition what happened
+     * @param day the day the transition was due
+     */
+    void onTransition(Contract contract, Transition transition, int day);
+  }
+
+  private record Event(int day, Contract contract, Transition transition) {
+  }
+
+  /**
+   * Constructor for ContractScheduler. Register it with the clock through
+   * subscribe to have it run on every advance.
+   *
+   * @param clock the clock that decides which transitions are due
+   */
+  public ContractScheduler(TimeService clock) {
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Starts tracking a contract. Transitions that are already due are applied
+   * at once, so contracts loaded from storage catch up with the clock.
+   * Scheduling a contract twice does not fire its transitions twice.
+   *
+   * @param contract the contract to track
+   */
+  public void schedule(Contract contract) {
+    List<Event> due = new ArrayList<>();
+    synchronized (this) {
+      int today = clock.getCurrentDay();
+      int returnDay = contract.getEndDay() + 1;
+      if (contract.getStartDay() > today) {
+        contract.advanceStatus(Contract.Status.BOOKED);
+        add(new Event(contract.getStartDay(), contract, Transition.STARTED));
+      } else {
+        due.add(new Event(contract.getStartDay(), contract, Transition.STARTED));
+      }
+      if (returnDay > today) {
+        add(new Event(returnDay, contract, Transition.RETURNED));
+        add(new Event(returnDay, contract, Transition.EXPIRED));
+      } else {
+        due.add(new Event(returnDay, contract, Transition.RETURNED));
+        due.add(new Event(returnDay, contract, Transition.EXPIRED));
+      }
+      due.removeIf(event -> !apply(event));
+    }
+    notifyListeners(due);
+  }
+
+  /**
+   * Fires every transition due up to the new day, oldest first.
+   *
+   * @param fromDay the day before the advance
+   * @param toDay the day after the advance
+   */
+  @Override
+  public void daysAdvanced(int fromDay, int toDay) {
+    List<Event> due = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Map.Entry<Integer, List<Event>>> buckets =
+          wheel.headMap(toDay, true).entrySet().iterator();
+      while (buckets.hasNext()) {
+        List<Event> bucket = buckets.next().getValue();
+        for (Event event : bucket) {
+          if (apply(event)) {
+            due.add(event);
+          }
+        }
+        pending -= bucket.size();
+        buckets.remove();
+      }
+    }
+    notifyListeners(due);
+  }
+
+  /**
+   * Gets the number of transitions waiting for their day.
+   *
+   * @return the number of pending transitions
+   */
+  public synchronized int getPendingCount() {
+    return pending;
+  }
+
+  /**
+   * Registers a listener for contract transitions.
+   *
+   * @param listener the listener to add
+   */
+  public void subscribe(Listener listener) {
+    listeners.add(listener);
+  }
+
+  private void add(Event event) {
+    wheel.computeIfAbsent(event.day(), day -> new ArrayList<>()).add(event);
+    pending++;
+  }
+
+  // false when the transition already happened, e.g. a contract scheduled twice
+  private static boolean apply(Event event) {
+    switch (event.transition()) {
+      case STARTED:
+        return event.contract().advanceStatus(Contract.Status.ACTIVE);
+      case RETURNED:
+        return event.contract().advanceStatus(Contract.Status.RETURNED);
+      default:
+        return event.contract().expireBooking();
+    }
+  }
+
+  private void notifyListeners(List<Event> events) {
+    for (Event event : events) {
+      for (Listener listener : listeners) {
+        listener.onTransition(event.contract(), event.transition(), event.day());
+      }
+    }
+  }
+}
@@ -1,26 +1,50 @@
 package model.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
 import model.LendingCostStrategy;
 import model.entity.Contract;
 import model.entity.Item;
 import model.entity.Member;
+import model.ledger.Cents;
+import model.ledger.CreditLedger;
 import model.persistence.DataStore;
+import model.persistence.UnitOfWork;
 
 
 /**
  * Service for managing contract operations with business logic.
+ * A booking locks its item and then the borrower's and owner's member
+ * stripes, so neither can spend the moved credit before a failed booking
+ * reverses it. Bookings of different items between different members never
+ * wait on each other.
+ * The service follows its clock until it is closed.
  */
 
-public class ContractService {
+public class ContractService implements AutoCloseable {
 
   private final TimeService clock;
 
   private final DataStore dataStore;
 
+  private final CreditLedger ledger = new CreditLedger();
+
+  private final ConcurrentSkipListMap<String, Contract> contracts = new ConcurrentSkipListMap<>();
+
+  private final ContractScheduler scheduler;
+
+  private final MemberService memberService; // null when quotes are not needed
+
+  private final ItemService itemService; // null when quotes are not needed
+
 
   /**
-   * Constructor for ContractService.
+   * Constructor for ContractService without lookups; quote is unavailable.
    *
    * @param clock     the time service for getting current time
    * @param dataStore the data store for persistence
@@ -28,15 +52,120 @@ public class ContractService {
 
   public ContractService(TimeService clock, DataStore dataStore) {
 
+    this(clock, dataStore, null, null);
+
+  }
+
+
+  /**
+   * Constructor for ContractService.
+   *
+   * @param clock         the time service for getting current time
+   * @param dataStore     the data store for persistence
+   * @param memberService the member service used to look up borrowers for quotes
+   * @param itemService   the item service used to look up items for quotes
+   */
+
+  public ContractService(TimeService clock, DataStore dataStore, MemberService memberService,
+
+                         ItemService itemService) {
+
     this.clock = clock;
 
     this.dataStore = dataStore;
 
+    this.memberService = memberService;
+
+    this.itemService = itemService;
+
+    this.scheduler = new ContractScheduler(clock);
+
+    for (Contract contract : dataStore.loadContracts()) {
+
+      contracts.put(contract.getContractId(), contract);
+
+      scheduler.schedule(contract);
+
+    }
+
+    clock.subscribe(scheduler);
+
   }
 
 
   /**
-   * Creates a contract with atomic credit transfer and rollback on failure.
+   * Prices a booking and checks whether it could be made right now, without
+   * creating a contract or using up an ID. The checks match the ones a real
+   * booking runs, but nothing is locked, so a quote can go stale at once.
+   *
+   * @param borrowerId the ID of the member who would borrow the item
+   * @param itemId     the ID of the item
+   * @param startDay   the first day of the booking
+   * @param endDay     the last day of the booking
+   * @param strategy   the cost calculation strategy
+   * @return the quote
+   */
+
+  public Quote quote(String borrowerId, String itemId, int startDay, int endDay,
+
+                     LendingCostStrategy strategy) {
+
+    if (memberService == null || itemService == null) {
+
+      throw new IllegalStateException("Quotes need the member and item services");
+
+    }
+
+    Member borrower = memberService.findMemberById(borrowerId);
+
+    if (borrower == null) {
+
+      throw new IllegalArgumentException("No member with " + borrowerId);
+
+    }
+
+    Item item = itemService.findItemById(itemId);
+
+    if (item == null) {
+
+      throw new IllegalArgumentException("No item with " + itemId);
+
+    }
+
+
+    // price the range even when it cannot be booked, so the caller can still show it
+
+    double cost = startDay <= endDay ? strategy.calcLendingCost(item, endDay - startDay + 1) : 0.0;
+
+    String rejection = null;
+
+    if (startDay < clock.getCurrentDay()) {
+
+      rejection = "Start day is in the past";
+
+    } else if (startDay > endDay) {
+
+      rejection = "Start day is after end day";
+
+    } else if (!item.isAvailable(startDay, endDay)) {
+
+      rejection = "Item is not available";
+
+    } else if (borrower.getCredit() < cost) {
+
+      rejection = "Insufficient credit";
+
+    }
+
+    return new Quote(borrowerId, itemId, startDay, endDay, cost, rejection);
+
+  }
+
+
+  /**
+   * Creates a contract with atomic credit transfer and rollback on failure. The
+   * contract and both members are stored in one unit of work, so a failed
+   * booking leaves neither the item, the credit nor the store changed.
    *
    * @param borrower     the member borrowing the item
    * @param owner        the member who owns the item
@@ -48,97 +177,204 @@ public class ContractService {
    * @throws Exception if contract creation fails
    */
 
+  @SuppressWarnings("try")
   public Contract createContract(Member borrower, Member owner, Item item, int startDay, int endDay,
 
                                  LendingCostStrategy costStrategy) throws Exception {
 
-    Contract contract = new Contract(borrower, item, startDay, endDay, costStrategy, clock);
+    try (LockStripes.Held itemLock = LockStripes.ITEMS.lock(item.getItemId());
+         LockStripes.Held memberLocks =
+             LockStripes.MEMBERS.lock(borrower.getMemberId(), owner.getMemberId())) {
 
+      Contract contract = new Contract(borrower, item, startDay, endDay, costStrategy, clock);
 
-    if (!contract.valid()) {
 
-      throw new IllegalArgumentException("Cannot establish contract due to invalid conditions");
+      if (!contract.valid()) {
 
-    }
+        throw new IllegalArgumentException("Cannot establish contract due to invalid conditions");
+
+      }
+
+
+      // Check if owner is reserving their own item - should be free
+
+      long cost = borrower.getMemberId().equals(item.getOwnerId()) ? 0 : Cents.of(contract.getTotalCost());
+
+
+      // Step 1: Move the credit; fails without side effects if the borrower cannot pay
+
+      CreditLedger.Transfer transfer = ledger.transfer(borrower, owner, cost);
+
+
+      boolean registered = false;
 
+      try (UnitOfWork work = dataStore.beginWork()) {
 
-    // Check if owner is reserving their own item - should be free
+        // Step 2: Register contract with item (always done regardless of cost)
 
-    double cost = borrower.equals(item.getOwner()) ? 0 : contract.getTotalCost();
+        item.addContract(contract);
 
-    double borrowerOriginalCredit = borrower.getCredit();
+        registered = true;
 
-    double ownerOriginalCredit = owner.getCredit();
 
+        // Step 3: Persist the new contract and the two members whose credit changed, together
 
-    try {
+        work.upsertContract(contract).upsertMembers(List.of(borrower, owner)).commit();
 
-      // Only perform credit transfer if there's a cost
+        contracts.put(contract.getContractId(), contract);
 
-      if (cost > 0) {
+        scheduler.schedule(contract);
 
-        // Step 1: Deduct from borrower
 
-        borrower.deductCredit(cost);
+        return contract;
 
+      } catch (Exception e) {
 
-        // Step 2: Add to owner
+        // Undo every earlier step; the store kept nothing of a failed unit of work
 
-        owner.increaseCredit(cost);
+        if (registered) {
+
+          item.removeContracts(contract);
+
+        }
+
+        ledger.reverse(transfer);
+
+        throw new Exception("Contract creation failed: " + e.getMessage(), e);
 
       }
 
+    }
+
+  }
+
+  /**
+   * Books a batch of contracts and persists them in one round trip. Requests
+   * are checked in order, so a request that overlaps an earlier booking in
+   * the same batch fails just as it would against an existing contract.
+   *
+   * @param requests the bookings to make
+   * @return one outcome per request, in request order
+   * @throws Exception if persisting the batch fails; no booking is kept then
+   */
+
+  @SuppressWarnings("try")
+  public List<ContractOutcome> createContracts(List<ContractRequest> requests) throws Exception {
+
+    String[] itemIds = new String[requests.size()];
+
+    String[] memberIds = new String[2 * requests.size()];
+
+    for (int i = 0; i < itemIds.length; i++) {
+
+      itemIds[i] = requests.get(i).getItem().getItemId();
+
+      memberIds[2 * i] = requests.get(i).getBorrower().getMemberId();
+
+      memberIds[2 * i + 1] = requests.get(i).getOwner().getMemberId();
+
+    }
+
+
+    try (LockStripes.Held itemLocks = LockStripes.ITEMS.lock(itemIds);
+         LockStripes.Held memberLocks = LockStripes.MEMBERS.lock(memberIds)) {
+
+      List<ContractOutcome> outcomes = new ArrayList<>(requests.size());
 
-      // Step 3: Register contract with item (always done regardless of cost)
+      List<Contract> booked = new ArrayList<>();
 
-      item.addContract(contract);
+      List<Item> bookedItems = new ArrayList<>();
 
+      List<CreditLedger.Transfer> transfers = new ArrayList<>();
 
-      // Step 4: Persist contract to datastore
+      Map<String, Member> changedMembers = new LinkedHashMap<>();
 
-      List<Contract> contracts = dataStore.loadContracts();
 
-      contracts.add(contract);
+      for (ContractRequest request : requests) {
 
-      dataStore.saveContracts(contracts);
+        Member borrower = request.getBorrower();
 
+        Item item = request.getItem();
 
-      // Step 5: Persist member changes to datastore (critical for credit updates)
+        Member owner = request.getOwner();
 
-      List<Member> members = dataStore.loadMembers();
+        Contract contract = new Contract(borrower, item, request.getStartDay(),
+            request.getEndDay(), request.getCostStrategy(), clock);
 
-      // Update the members in the list with the modified credit values
 
-      for (int i = 0; i < members.size(); i++) {
+        if (!contract.valid()) {
 
-        Member storedMember = members.get(i);
+          outcomes.add(ContractOutcome.failed(request, contract.getRejection()));
+
+          continue;
+
+        }
 
-        if (storedMember.getMemberId().equals(borrower.getMemberId())) {
 
-          members.set(i, borrower);
+        long cost = borrower.getMemberId().equals(item.getOwnerId()) ? 0 : Cents.of(contract.getTotalCost());
 
-        } else if (storedMember.getMemberId().equals(owner.getMemberId())) {
 
-          members.set(i, owner);
+        try {
+
+          transfers.add(ledger.transfer(borrower, owner, cost));
+
+        } catch (IllegalArgumentException e) {
+
+          outcomes.add(ContractOutcome.failed(request, e.getMessage()));
+
+          continue;
 
         }
 
+
+        item.addContract(contract);
+
+        booked.add(contract);
+
+        bookedItems.add(item);
+
+        changedMembers.put(borrower.getMemberId(), borrower);
+
+        changedMembers.put(owner.getMemberId(), owner);
+
+        outcomes.add(ContractOutcome.booked(request, contract));
+
       }
 
-      dataStore.saveMembers(members);
 
+      try (UnitOfWork work = dataStore.beginWork()) {
 
-      return contract;
+        if (!booked.isEmpty()) {
 
-    } catch (Exception e) {
+          work.upsertContracts(booked).upsertMembers(changedMembers.values()).commit();
 
-      // Rollback credit changes if any step fails
+          for (Contract contract : booked) {
+
+            contracts.put(contract.getContractId(), contract);
+
+            scheduler.schedule(contract);
+
+          }
+
+        }
 
-      borrower.setCredit(borrowerOriginalCredit);
+        return outcomes;
 
-      owner.setCredit(ownerOriginalCredit);
+      } catch (Exception e) {
 
-      throw new Exception("Contract creation failed: " + e.getMessage(), e);
+        // Undo the whole batch, newest first
+
+        for (int i = booked.size() - 1; i >= 0; i--) {
+
+          bookedItems.get(i).removeContracts(booked.get(i));
+
+          ledger.reverse(transfers.get(i));
+
+        }
+
+        throw new Exception("Batch booking failed: " + e.getMessage(), e);
+
+      }
 
     }
 
@@ -146,14 +382,82 @@ public class ContractService {
 
 
   /**
-   * Get all contracts from persistence.
+   * Registers a listener for contract lifecycle transitions.
    *
-   * @return list of all contracts
+   * @param listener the listener to add
+   */
+
+  public void subscribe(ContractScheduler.Listener listener) {
+
+    scheduler.subscribe(listener);
+
+  }
+
+
+  /**
+   * Stops following the clock, so days passing no longer move this service's
+   * contracts through their lifecycle. Calls to the service keep working.
+   */
+
+  @Override
+  public void close() {
+
+    clock.unsubscribe(scheduler);
+
+  }
+
+
+  /**
+   * Gets the number of lifecycle transitions waiting for their day.
+   *
+   * @return the number of pending transitions
+   */
+
+  public int getPendingTransitions() {
+
+    return scheduler.getPendingCount();
+
+  }
+
+
+  /**
+   * Get all contracts ordered by ID.
+   *
+   * @return an unmodifiable list of all contracts
    */
 
   public List<Contract> getAllContracts() {
 
-    return dataStore.loadContracts();
+    return Collections.unmodifiableList(new ArrayList<>(contracts.values()));
+
+  }
+
+
+  /**
+   * Gets one page of contracts ordered by ID.
+   *
+   * @param cursor the cursor from the previous page, or null for the first page
+   * @param limit  the maximum number of contracts on the page
+   * @return the page
+   */
+
+  public Page<Contract> pageContracts(String cursor, int limit) {
+
+    return Page.of(contracts, cursor, limit);
+
+  }
+
+
+  /**
+   * Streams all contracts ordered by ID without copying the collection. The
+   * stream is weakly consistent: it never fails on concurrent changes.
+   *
+   * @return a stream of the contracts
+   */
+
+  public Stream<Contract> streamContracts() {
+
+    return contracts.values().stream();
 
   }
 
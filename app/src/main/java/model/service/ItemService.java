@@ -2,22 +2,47 @@ package model.service;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import model.entity.Item;
 import model.entity.Member;
 import model.persistence.DataStore;
+import model.search.ItemSearchIndex;
 
 /**
  * Service for managing item operations with business logic.
+ * Safe for concurrent callers: changes to an item are serialized on its lock
+ * stripe, and registering an item locks only its owner's stripe.
  */
 public class ItemService {
   private final DataStore dataStore;
-  private final Map<String, Item> items = new HashMap<>();
+  private final ConcurrentSkipListMap<String, Item> items = new ConcurrentSkipListMap<>();
+  private final ItemSearchIndex searchIndex = new ItemSearchIndex();
+  private final Map<Item.Category, ConcurrentSkipListMap<String, Item>> byCategory =
+      new EnumMap<>(Item.Category.class); // one index per category, filled in the constructor
   private final TimeService time;
   private final MemberService memberService;
+  private final List<ItemListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Gets notified when a stored item changes or is deleted.
+   */
+  public interface ItemListener {
+    /**
+     * Called after an item was updated or deleted.
+     *
+     * @param itemId the ID of the item
+     */
+    void itemChanged(String itemId);
+  }
 
   /**
    * Constructor for ItemService.
@@ -31,9 +56,15 @@ public class ItemService {
     this.time = Objects.requireNonNull(time);
     this.memberService = Objects.requireNonNull(memberService);
 
+    for (Item.Category category : Item.Category.values()) {
+      byCategory.put(category, new ConcurrentSkipListMap<>());
+    }
+
     // preload existing items
     for (Item it : dataStore.loadItems()) {
       items.put(it.getItemId(), it);
+      byCategory.get(it.getCategory()).put(it.getItemId(), it);
+      searchIndex.put(it);
     }
   }
 
@@ -47,6 +78,7 @@ public class ItemService {
    * @param ownerId the owner's ID
    * @return the created item
    */
+  @SuppressWarnings("try")
   public Item createItem(String name,
                         Item.Category category,
                         String description,
@@ -58,10 +90,23 @@ public class ItemService {
     }
     Item newItem = new Item(name, category, description, costPerDay, owner, time);
     
-    owner.addItem(newItem);
-    items.put(newItem.getItemId(), newItem);
-    
-    dataStore.saveItems(new ArrayList<>(items.values()));
+    try (LockStripes.Held held = LockStripes.MEMBERS.lock(owner.getMemberId())) {
+      // the owner's stripe keeps bookings from moving this credit until the commit
+      long creditBefore = owner.getCreditCents();
+      owner.addItem(newItem);
+      try {
+        // only the new item and its owner's credit changed, stored together
+        dataStore.beginWork().upsertItem(newItem).upsertMember(owner).commit();
+      } catch (RuntimeException e) {
+        owner.removeItem(newItem);
+        owner.withdrawCents(owner.getCreditCents() - creditBefore);
+        throw e;
+      }
+      // only a stored item becomes findable
+      items.put(newItem.getItemId(), newItem);
+      byCategory.get(newItem.getCategory()).put(newItem.getItemId(), newItem);
+      searchIndex.put(newItem);
+    }
     return newItem;
   }
 
@@ -81,12 +126,23 @@ public class ItemService {
    * @param itemId the item ID to delete
    * @return true if deletion was successful
    */
+  @SuppressWarnings("try")
   public boolean deleteItem(String itemId) {
-    if (items.remove(itemId) != null) {
-      dataStore.saveItems(new ArrayList<>(items.values()));
-      return true;
+    try (LockStripes.Held held = LockStripes.ITEMS.lock(itemId)) {
+      Item removed = items.remove(itemId);
+      if (removed != null) {
+        Member owner = memberService.findMemberById(removed.getOwnerId());
+        if (owner != null) {
+          owner.removeItem(removed);
+        }
+        byCategory.get(removed.getCategory()).remove(itemId);
+        searchIndex.remove(itemId);
+        dataStore.deleteItem(itemId);
+        notifyListeners(itemId);
+        return true;
+      }
+      return false;
     }
-    return false;
   }
 
   /**
@@ -99,18 +155,29 @@ public class ItemService {
    * @param costPerDay the new cost per day
    * @return true if update was successful
    */
+  @SuppressWarnings("try")
   public boolean updateItem(String itemId, String name, Item.Category category, 
                            String description, double costPerDay) {
-    Item item = items.get(itemId);
-    if (item != null) {
-      item.setName(name);
-      item.setCategory(category);
-      item.setDescription(description);
-      item.setCostPerDay(costPerDay);
-      dataStore.saveItems(new ArrayList<>(items.values()));
-      return true;
+    try (LockStripes.Held held = LockStripes.ITEMS.lock(itemId)) {
+      Item item = items.get(itemId);
+      if (item != null) {
+        final Item.Category oldCategory = item.getCategory();
+        item.setName(name);
+        item.setCategory(category);
+        item.setDescription(description);
+        item.setCostPerDay(costPerDay);
+        if (oldCategory != item.getCategory()) {
+          // add before removing so a concurrent scan sees the item at least once
+          byCategory.get(item.getCategory()).put(itemId, item);
+          byCategory.get(oldCategory).remove(itemId);
+        }
+        searchIndex.put(item);
+        dataStore.upsertItem(item);
+        notifyListeners(itemId);
+        return true;
+      }
+      return false;
     }
-    return false;
   }
 
   /**
@@ -121,4 +188,129 @@ public class ItemService {
   public List<Item> listAllItems() {
     return Collections.unmodifiableList(new ArrayList<>(items.values()));
   }
+
+  /**
+   * Searches item names and descriptions. Every word of the query must be
+   * the start of a word in the item, so "cord dri" finds "Cordless drill".
+   *
+   * @param query the search text, empty to match every item
+   * @param category only return items in this category, or null for any
+   * @param limit the maximum number of results
+   * @return the matching items in ID order
+   */
+  public List<Item> search(String query, Item.Category category, int limit) {
+    List<Item> result = new ArrayList<>();
+    for (String itemId : searchIndex.search(query, category, limit)) {
+      Item item = items.get(itemId);
+      if (item != null) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Finds items that are free for a whole day range.
+   *
+   * @param category only look in this category, or null for every category
+   * @param startDay the first day of the range
+   * @param endDay the last day of the range
+   * @param limit the maximum number of results
+   * @return the first limit free items by ID, in ID order
+   */
+  public List<Item> findAvailable(Item.Category category, int startDay, int endDay, int limit) {
+    checkSearch(startDay, endDay, limit);
+    // ordered parallel scan: partitions are checked at once, the limit keeps the lowest IDs
+    return index(category).values().parallelStream()
+        .filter(item -> item.isAvailable(startDay, endDay))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Streams free items to a consumer as soon as they are found. The scan
+   * walks the category index in parallel on the common fork-join pool and
+   * stops as soon as limit items have been handed over, so the first results
+   * arrive without waiting for the whole scan. The items come in no particular
+   * order, and which free items are handed over can differ from call to call.
+   *
+   * @param category only look in this category, or null for every category
+   * @param startDay the first day of the range
+   * @param endDay the last day of the range
+   * @param limit the maximum number of results
+   * @param sink receives each free item; it is called from several threads
+   */
+  public void findAvailable(Item.Category category, int startDay, int endDay, int limit,
+                            Consumer<Item> sink) {
+    checkSearch(startDay, endDay, limit);
+    AtomicInteger accepted = new AtomicInteger();
+    index(category).values().parallelStream().unordered().anyMatch(item -> {
+      if (!item.isAvailable(startDay, endDay)) {
+        return false;
+      }
+      int taken = accepted.incrementAndGet();
+      if (taken <= limit) {
+        sink.accept(item);
+      }
+      return taken >= limit;
+    });
+  }
+
+  private static void checkSearch(int startDay, int endDay, int limit) {
+    if (startDay > endDay) {
+      throw new IllegalArgumentException("Start day is after end day");
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be at least 1");
+    }
+  }
+
+  private Map<String, Item> index(Item.Category category) {
+    return category == null ? items : byCategory.get(category);
+  }
+
+  /**
+   * Gets one page of items ordered by ID.
+   *
+   * @param cursor the cursor from the previous page, or null for the first page
+   * @param limit the maximum number of items on the page
+   * @return the page
+   */
+  public Page<Item> pageItems(String cursor, int limit) {
+    return Page.of(items, cursor, limit);
+  }
+
+  /**
+   * Streams all items ordered by ID without copying the collection. The
+   * stream is weakly consistent: it never fails on concurrent changes.
+   *
+   * @return a stream of the items
+   */
+  public Stream<Item> streamItems() {
+    return items.values().stream();
+  }
+
+  /**
+   * Registers a listener for item updates and deletes.
+   *
+   * @param listener the listener to add
+   */
+  public void subscribe(ItemListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener added with subscribe.
+   *
+   * @param listener the listener to remove
+   */
+  public void unsubscribe(ItemListener listener) {
+    listeners.remove(listener);
+  }
+
+  private void notifyListeners(String itemId) {
+    for (ItemListener listener : listeners) {
+      listener.itemChanged(itemId);
+    }
+  }
 }
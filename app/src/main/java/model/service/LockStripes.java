@@ -0,0 +1,98 @@
+package model.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that entity IDs hash onto. Operations on unrelated
+ * members or items usually land on different stripes and run in parallel,
+ * without the memory cost of one lock per entity.
+ *
+ * <p>The services share one instance for members and one for items. When an
+ * operation needs both, it takes its item stripe before any member stripes.
+ *
+ * <p>Callers hold stripes in a try-with-resources block and never use the
+ * handle inside it, so those methods suppress the "try" lint warning.
+ */
+final class LockStripes {
+  /** Stripes guarding member details and owned items. */
+  static final LockStripes MEMBERS = new LockStripes(1024);
+  /** Stripes guarding item details and bookings. */
+  static final LockStripes ITEMS = new LockStripes(1024);
+
+  private final ReentrantLock[] locks;
+  private final int mask;
+
+  private LockStripes(int stripes) {
+    if (Integer.bitCount(stripes) != 1) {
+      throw new IllegalArgumentException("Stripe count must be a power of two");
+    }
+    locks = new ReentrantLock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    mask = stripes - 1;
+  }
+
+  private int stripe(String key) {
+    int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  /**
+   * Locks the stripe of a single key.
+   *
+   * @param key the entity ID
+   * @return a handle that unlocks the stripe when closed
+   */
+  Held lock(String key) {
+    ReentrantLock lock = locks[stripe(key)];
+    lock.lock();
+    return new Held(new ReentrantLock[] {lock});
+  }
+
+  /**
+   * Locks the stripes of several keys in stripe order, so two callers locking
+   * the same keys in a different order cannot deadlock.
+   *
+   * @param keys the entity IDs
+   * @return a handle that unlocks every stripe when closed
+   */
+  Held lock(String... keys) {
+    int[] stripes = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      stripes[i] = stripe(keys[i]);
+    }
+    Arrays.sort(stripes);
+    int distinct = 0;
+    for (int i = 0; i < stripes.length; i++) {
+      if (i == 0 || stripes[i] != stripes[i - 1]) {
+        stripes[distinct++] = stripes[i];
+      }
+    }
+    ReentrantLock[] held = new ReentrantLock[distinct];
+    for (int i = 0; i < distinct; i++) {
+      held[i] = locks[stripes[i]];
+      held[i].lock();
+    }
+    return new Held(held);
+  }
+
+  /**
+   * Held stripes, released by close() in reverse order.
+   */
+  static final class Held implements AutoCloseable {
+    private final ReentrantLock[] held;
+
+    private Held(ReentrantLock[] held) {
+      this.held = held;
+    }
+
+    @Override
+    public void close() {
+      for (int i = held.length - 1; i >= 0; i--) {
+        held[i].unlock();
+      }
+    }
+  }
+}
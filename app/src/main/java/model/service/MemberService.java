@@ -1,26 +1,30 @@
 package model.service;
 
-import java.security.SecureRandom;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import model.entity.IdAllocator;
 import model.entity.Member;
 import model.persistence.DataStore;
 
 /**
  * Service class for managing members.
+ * Safe for concurrent callers: lookups go through concurrent maps and changes
+ * to one member are serialized on that member's lock stripe.
  */
 public class MemberService {
-  private static final String ALPHANUM = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-  private static final SecureRandom RAND = new SecureRandom();
   private final TimeService timeService;
   private final DataStore dataStore;
-  private Map<String, Member> members;
-  private Set<String> usedIds;
+  private final ConcurrentSkipListMap<String, Member> members; // sorted by ID for paging
+  // normalized email/phone -> ID of the member holding it
+  private final Map<String, String> emailIndex = new ConcurrentHashMap<>();
+  private final Map<String, String> phoneIndex = new ConcurrentHashMap<>();
 
   /**
    * Constructor to initialize the member collection.
@@ -31,8 +35,7 @@ public class MemberService {
   public MemberService(TimeService timeService, DataStore dataStore) {
     this.timeService = timeService;
     this.dataStore = dataStore;
-    this.members = new HashMap<>();
-    this.usedIds = new HashSet<>();
+    this.members = new ConcurrentSkipListMap<>();
     loadMembers();
   }
 
@@ -43,34 +46,18 @@ public class MemberService {
     List<Member> storedMembers = dataStore.loadMembers();
     for (Member member : storedMembers) {
       members.put(member.getMemberId(), member);
-      usedIds.add(member.getMemberId());
+      emailIndex.put(normalizeEmail(member.getEmail()), member.getMemberId());
+      phoneIndex.put(normalizePhone(member.getPhone()), member.getMemberId());
     }
   }
 
-  /**
-   * Save members to data store.
-   */
-  private void saveMembers() {
-    List<Member> membersList = List.copyOf(members.values());
-    dataStore.saveMembers(membersList);
-  }
-
   /**
    * Generates a globally unique 6-character alphanumeric ID.
    *
    * @return a unique member ID
    */
   public String generateUniqueId() {
-    String id;
-    do {
-      StringBuilder sb = new StringBuilder(6);
-      for (int i = 0; i < 6; i++) {
-        sb.append(ALPHANUM.charAt(RAND.nextInt(ALPHANUM.length())));
-      }
-      id = sb.toString();
-    } while (usedIds.contains(id));
-    usedIds.add(id);
-    return id;
+    return IdAllocator.MEMBERS.next();
   }
 
   /**
@@ -83,44 +70,79 @@ public class MemberService {
    */
   public Member createMember(String name, String phone, String email) {
     int createDay = timeService.getCurrentDay();
-    if (!isUniqueEmail(email) || (!isUniquePhone(phone))) {
+    String memberId = generateUniqueId();
+    String emailKey = normalizeEmail(email);
+    String phoneKey = normalizePhone(phone);
+    if (!reserve(emailIndex, emailKey, memberId)) {
       throw new IllegalArgumentException("Email or phone is already in use.");
     }
-    String memberId = generateUniqueId();
-    Member newMember = new Member(memberId, name, email, phone, createDay);
+    if (!reserve(phoneIndex, phoneKey, memberId)) {
+      release(emailIndex, emailKey, memberId);
+      throw new IllegalArgumentException("Email or phone is already in use.");
+    }
+    Member newMember;
+    try {
+      newMember = new Member(memberId, name, email, phone, createDay);
+    } catch (RuntimeException e) {
+      release(emailIndex, emailKey, memberId);
+      release(phoneIndex, phoneKey, memberId);
+      throw e;
+    }
     members.put(newMember.getMemberId(), newMember);
-    saveMembers(); // Persist to datastore
+    dataStore.upsertMember(newMember); // Persist to datastore
     return newMember;
   }
 
   /**
-   * Checks if email is unique.
+   * Normalizes an email for the uniqueness index.
    *
-   * @param email the email to check
-   * @return true if unique
+   * @param email the email to normalize
+   * @return the trimmed, lower case email
    */
-  private boolean isUniqueEmail(String email) {
-    for (Member member : members.values()) {
-      if (member.getEmail().equals(email)) {
-        return false;
-      }
-    }
-    return true;
+  private static String normalizeEmail(String email) {
+    return Objects.requireNonNull(email, "email required").trim().toLowerCase(Locale.ROOT);
   }
 
   /**
-   * Checks if phone is unique.
+   * Normalizes a phone number for the uniqueness index.
    *
-   * @param phone the phone to check
-   * @return true if unique
+   * @param phone the phone number to normalize
+   * @return the phone number without spaces, dashes, dots or brackets
    */
-  private boolean isUniquePhone(String phone) {
-    for (Member member : members.values()) {
-      if (member.getPhone().equals(phone)) {
-        return false;
+  private static String normalizePhone(String phone) {
+    String trimmed = Objects.requireNonNull(phone, "phone no required").trim();
+    StringBuilder sb = new StringBuilder(trimmed.length());
+    for (int i = 0; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      if (c != ' ' && c != '-' && c != '.' && c != '(' && c != ')') {
+        sb.append(c);
       }
     }
-    return true;
+    return sb.toString();
+  }
+
+  /**
+   * Claims a value for a member, failing if another member already holds it.
+   *
+   * @param index the uniqueness index
+   * @param key the normalized value
+   * @param memberId the member claiming it
+   * @return true if the member now holds the value
+   */
+  private static boolean reserve(Map<String, String> index, String key, String memberId) {
+    String holder = index.putIfAbsent(key, memberId);
+    return holder == null || holder.equals(memberId);
+  }
+
+  /**
+   * Releases a value, but only if the given member still holds it.
+   *
+   * @param index the uniqueness index
+   * @param key the normalized value
+   * @param memberId the member releasing it
+   */
+  private static void release(Map<String, String> index, String key, String memberId) {
+    index.remove(key, memberId);
   }
 
   /**
@@ -139,8 +161,18 @@ public class MemberService {
    * @param memberId the member ID to delete
    * @return true if deletion was successful
    */
+  @SuppressWarnings("try")
   public boolean deleteMemberById(String memberId) {
-    return members.remove(memberId) != null;
+    try (LockStripes.Held held = LockStripes.MEMBERS.lock(memberId)) {
+      Member removed = members.remove(memberId);
+      if (removed == null) {
+        return false;
+      }
+      release(emailIndex, normalizeEmail(removed.getEmail()), memberId);
+      release(phoneIndex, normalizePhone(removed.getPhone()), memberId);
+      dataStore.deleteMember(memberId);
+      return true;
+    }
   }
 
   /**
@@ -150,6 +182,27 @@ public class MemberService {
     return Collections.unmodifiableCollection(members.values());
   }
 
+  /**
+   * Gets one page of members ordered by ID.
+   *
+   * @param cursor the cursor from the previous page, or null for the first page
+   * @param limit the maximum number of members on the page
+   * @return the page
+   */
+  public Page<Member> pageMembers(String cursor, int limit) {
+    return Page.of(members, cursor, limit);
+  }
+
+  /**
+   * Streams all members ordered by ID without copying the collection. The
+   * stream is weakly consistent: it never fails on concurrent changes.
+   *
+   * @return a stream of the members
+   */
+  public Stream<Member> streamMembers() {
+    return members.values().stream();
+  }
+
   /**
    * Updates a member's information.
    *
@@ -159,20 +212,37 @@ public class MemberService {
    * @param newEmail the new email
    * @return the updated member
    */
+  @SuppressWarnings("try")
   public Member updateMember(String memberId, String newName, String newPhoneNo, String newEmail) {
-    Member m = members.get(memberId);
-    if (m == null) {
-      throw new IllegalArgumentException("No member with that ID found, that is: " + memberId);
-    }
-    if (!m.getEmail().equals(newEmail) && !isUniqueEmail(newEmail)) {
-      throw new IllegalArgumentException("Email already in use..");
-    }
-    if (!m.getPhone().equals(newPhoneNo) && !isUniquePhone(newPhoneNo)) {
-      throw new IllegalArgumentException("Phone already in use..");
+    try (LockStripes.Held held = LockStripes.MEMBERS.lock(memberId)) {
+      Member m = members.get(memberId);
+      if (m == null) {
+        throw new IllegalArgumentException("No member with that ID found, that is: " + memberId);
+      }
+      final String oldEmailKey = normalizeEmail(m.getEmail());
+      final String oldPhoneKey = normalizePhone(m.getPhone());
+      String emailKey = normalizeEmail(newEmail);
+      String phoneKey = normalizePhone(newPhoneNo);
+      if (!reserve(emailIndex, emailKey, memberId)) {
+        throw new IllegalArgumentException("Email already in use..");
+      }
+      if (!reserve(phoneIndex, phoneKey, memberId)) {
+        if (!emailKey.equals(oldEmailKey)) {
+          release(emailIndex, emailKey, memberId);
+        }
+        throw new IllegalArgumentException("Phone already in use..");
+      }
+      if (!emailKey.equals(oldEmailKey)) {
+        release(emailIndex, oldEmailKey, memberId);
+      }
+      if (!phoneKey.equals(oldPhoneKey)) {
+        release(phoneIndex, oldPhoneKey, memberId);
+      }
+      m.updateName(newName);
+      m.updateEmail(newEmail);
+      m.updatePhone(newPhoneNo);
+      dataStore.upsertMember(m);
+      return m;
     }
-    m.updateName(newName);
-    m.updateEmail(newEmail);
-    m.updatePhone(newPhoneNo);
-    return m;
   }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package model.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * One page of a listing ordered by entity ID. The cursor of the next page is
+ * the last ID on this one, so a page is found by a seek into the sorted index
+ * rather than by skipping over the entries before it, and entries added or
+ * removed elsewhere in the listing never shift later pages.
+ *
+ * @param <T> the entity type
+ */
+public final class Page<T> {
+  private final List<T> entries;
+  private final String nextCursor;
+
+  private Page(List<T> entries, String nextCursor) {
+    this.entries = Collections.unmodifiableList(entries);
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Reads a page from an index keyed by ID.
+   *
+   * @param index the index, sorted by ID
+   * @param cursor the cursor from the previous page, or null for the first page
+   * @param limit the maximum number of entries
+   * @param <T> the entity type
+   * @return the page
+   */
+  static <T> Page<T> of(NavigableMap<String, T> index, String cursor, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1");
+    }
+    NavigableMap<String, T> rest = cursor == null ? index : index.tailMap(cursor, false);
+    List<T> entries = new ArrayList<>(Math.min(limit, 64));
+    String last = null;
+    Iterator<Map.Entry<String, T>> it = rest.entrySet().iterator();
+    while (it.hasNext() && entries.size() < limit) {
+      Map.Entry<String, T> entry = it.next();
+      entries.add(entry.getValue());
+      last = entry.getKey();
+    }
+    return new Page<>(entries, it.hasNext() ? last : null);
+  }
+
+  /**
+   * Gets the entries on this page.
+   *
+   * @return an unmodifiable list of the entries
+   */
+  public List<T> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Gets the cursor for the next page.
+   *
+   * @return the cursor, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Checks if there is a page after this one.
+   *
+   * @return true if more entries follow
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+}
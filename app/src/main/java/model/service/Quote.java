@@ -0,0 +1,87 @@
+package model.service;
+
+/**
+ * The price of a booking and whether it could be made right now, worked out
+ * without creating a contract.
+ */
+public final class Quote {
+  private final String borrowerId;
+  private final String itemId;
+  private final int startDay;
+  private final int endDay;
+  private final double cost;
+  private final String rejection;
+
+  Quote(String borrowerId, String itemId, int startDay, int endDay, double cost,
+        String rejection) {
+    this.borrowerId = borrowerId;
+    this.itemId = itemId;
+    this.startDay = startDay;
+    this.endDay = endDay;
+    this.cost = cost;
+    this.rejection = rejection;
+  }
+
+  /**
+   * Gets the borrower's ID.
+   *
+   * @return the borrower ID
+   */
+  public String getBorrowerId() {
+    return borrowerId;
+  }
+
+  /**
+   * Gets the item's ID.
+   *
+   * @return the item ID
+   */
+  public String getItemId() {
+    return itemId;
+  }
+
+  /**
+   * Gets the first day of the booking.
+   *
+   * @return the start day
+   */
+  public int getStartDay() {
+    return startDay;
+  }
+
+  /**
+   * Gets the last day of the booking.
+   *
+   * @return the end day
+   */
+  public int getEndDay() {
+    return endDay;
+  }
+
+  /**
+   * Gets the price of the booking.
+   *
+   * @return the cost, or 0 if the day range is reversed
+   */
+  public double getCost() {
+    return cost;
+  }
+
+  /**
+   * Checks if the booking could be made right now.
+   *
+   * @return true if the item is free and the borrower can pay
+   */
+  public boolean isBookable() {
+    return rejection == null;
+  }
+
+  /**
+   * Gets the reason the booking could not be made.
+   *
+   * @return the reason, or null if it is bookable
+   */
+  public String getRejection() {
+    return rejection;
+  }
+}
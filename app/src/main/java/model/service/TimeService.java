@@ -1,11 +1,29 @@
 package model.service;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Service for managing time in the system.
- * Provides day counter functionality.
+ * Provides day counter functionality and tells listeners when days pass.
  */
 public class TimeService {
-  private int currentDay = 0;
+  private final AtomicInteger currentDay = new AtomicInteger();
+  private final List<DayListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Gets notified when the day counter moves forward.
+   */
+  public interface DayListener {
+    /**
+     * Called after the day counter moved forward.
+     *
+     * @param fromDay the day before the advance
+     * @param toDay the day after the advance
+     */
+    void daysAdvanced(int fromDay, int toDay);
+  }
 
   /**
    * Gets the current day.
@@ -13,13 +31,49 @@ public class TimeService {
    * @return the current day starting from 0
    */
   public int getCurrentDay() {
-    return currentDay;
+    return currentDay.get();
   }
 
   /**
    * Increment the day counter by one.
    */
   public void advanceDay() {
-    currentDay++;
+    advanceDays(1);
+  }
+
+  /**
+   * Moves the day counter forward several days at once. Listeners are told
+   * once about the whole jump rather than once per day.
+   *
+   * @param days the number of days to move forward
+   * @return the new current day
+   */
+  public int advanceDays(int days) {
+    if (days < 1) {
+      throw new IllegalArgumentException("Days must be at least 1");
+    }
+    int toDay = currentDay.addAndGet(days);
+    for (DayListener listener : listeners) {
+      listener.daysAdvanced(toDay - days, toDay);
+    }
+    return toDay;
+  }
+
+  /**
+   * Registers a listener for day advances.
+   *
+   * @param listener the listener to add
+   */
+  public void subscribe(DayListener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener added with subscribe.
+   *
+   * @param listener the listener to remove
+   */
+  public void unsubscribe(DayListener listener) {
+    listeners.remove(listener);
   }
 }
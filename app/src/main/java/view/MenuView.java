@@ -1,25 +1,139 @@
 package view;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Scanner;
-import model.entity.Contract;
-import model.entity.Item;
+import java.util.NoSuchElementException;
+import model.entity.ContractView;
 import model.entity.Item.Category;
-import model.entity.Member;
+import model.entity.ItemView;
+import model.entity.MemberView;
 
 /**
  * MenuView class provides passive UI methods for the Stuff Lending System.
  * Pure view following MVC pattern - only handles input/output, no business logic.
+ * Output is buffered; an interactive view flushes before every read, while a
+ * batch view only flushes when asked, skips the pauses and prints no prompts.
+ * Listings are rendered as tables; an interactive view flushes once per page.
  */
 public class MenuView {
-  private final Scanner sc = new Scanner(System.in, StandardCharsets.UTF_8);
+  private static final int PAGE_SIZE = 20;
+  private final BufferedReader in;
+  private final PrintWriter out;
+  private final boolean batch;
+  private final int pageSize;
+  private final TableRenderer<MemberView> memberTable = new TableRenderer<>(List.of(
+      new TableRenderer.Column<>("Name", 20, MemberView::name),
+      new TableRenderer.Column<>("ID", 6, MemberView::memberId),
+      new TableRenderer.Column<>("Credits", 8, MemberView::credit)));
+  private final TableRenderer<MemberView> memberDetailTable = new TableRenderer<>(List.of(
+      new TableRenderer.Column<>("ID", 6, MemberView::memberId),
+      new TableRenderer.Column<>("Name", 20, MemberView::name),
+      new TableRenderer.Column<>("Email", 24, MemberView::email),
+      new TableRenderer.Column<>("Phone", 12, MemberView::phone),
+      new TableRenderer.Column<>("Credits", 8, MemberView::credit),
+      new TableRenderer.Column<>("Created", 7, MemberView::createdDate),
+      new TableRenderer.Column<>("Items", 5, MemberView::ownedItemCount)));
+  private final TableRenderer<ItemView> itemTable = new TableRenderer<>(List.of(
+      new TableRenderer.Column<>("Name", 20, ItemView::name),
+      new TableRenderer.Column<>("ID", 6, ItemView::itemId),
+      new TableRenderer.Column<>("Owner", 20, ItemView::ownerName),
+      new TableRenderer.Column<>("Category", 8, ItemView::category)));
+  private final TableRenderer<ContractView> contractTable = new TableRenderer<>(List.of(
+      new TableRenderer.Column<>("ID", 6, ContractView::contractId),
+      new TableRenderer.Column<>("Item", 20, ContractView::itemName),
+      new TableRenderer.Column<>("Start", 5, ContractView::startDay),
+      new TableRenderer.Column<>("End", 5, ContractView::endDay)));
+
+  /**
+   * Creates an interactive view on the console.
+   */
+  public MenuView() {
+    this(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)),
+        new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, StandardCharsets.UTF_8))),
+        false);
+  }
+
+  /**
+   * Creates a view on the given streams.
+   *
+   * @param in where answers are read from
+   * @param out where output is written to
+   * @param batch true to skip pauses and prompts and flush only on request
+   */
+  public MenuView(BufferedReader in, PrintWriter out, boolean batch) {
+    this(in, out, batch, PAGE_SIZE);
+  }
+
+  /**
+   * Creates a view on the given streams with its own listing page size.
+   *
+   * @param in where answers are read from
+   * @param out where output is written to
+   * @param batch true to skip pauses and prompts and flush only on request
+   * @param pageSize how many rows a listing page holds
+   */
+  public MenuView(BufferedReader in, PrintWriter out, boolean batch, int pageSize) {
+    if (pageSize < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1");
+    }
+    this.in = in;
+    this.out = out;
+    this.batch = batch;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Checks if the view runs without a user at the keyboard.
+   *
+   * @return true in batch mode
+   */
+  public boolean isBatch() {
+    return batch;
+  }
+
+  /**
+   * Writes any buffered output.
+   */
+  public void flush() {
+    out.flush();
+  }
+
+  private String nextLine() {
+    if (!batch) {
+      out.flush();
+    }
+    try {
+      String line = in.readLine();
+      if (line == null) {
+        throw new NoSuchElementException("No more input");
+      }
+      return line.trim();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void showPrompt(String msg) {
+    if (!batch) {
+      out.print(msg + " ");
+    }
+  }
 
   /**
    * Get user choice from menu. * * @return the user's menu choice
    */
   public int getUserChoice() {
-    showMenu();
+    if (!batch) {
+      showMenu();
+    }
     return promptInt("Enter your choice:");
   }
 
@@ -27,8 +141,10 @@ public class MenuView {
    * Check if user wants to continue. * * @return true if continuing
    */
   public boolean continueSession() {
-    System.out.println("\nPress Enter to continue...");
-    sc.nextLine();
+    if (!batch) {
+      out.println("\nPress Enter to continue...");
+      nextLine();
+    }
     return true;
   }
 
@@ -36,21 +152,22 @@ public class MenuView {
    * Show main menu options.
    */
   public void showMenu() {
-    System.out.println("\n\t--- Main Menu ---");
-    System.out.println("1. Add Member");
-    System.out.println("2. List Members (Simple)");
-    System.out.println("3. List Members (Verbose)");
-    System.out.println("4. View Member Details");
-    System.out.println("5. Edit Member");
-    System.out.println("6. Delete Member");
-    System.out.println("7. create Item");
-    System.out.println("8. List Item");
-    System.out.println("9. Edit Item");
-    System.out.println("10. Delete Item");
-    System.out.println("11. Create Contract");
-    System.out.println("12. List Contracts");
-    System.out.println("13. Advance Day");
-    System.out.println("0. Exit");
+    out.println("\n\t--- Main Menu ---");
+    out.println("1. Add Member");
+    out.println("2. List Members (Simple)");
+    out.println("3. List Members (Verbose)");
+    out.println("4. View Member Details");
+    out.println("5. Edit Member");
+    out.println("6. Delete Member");
+    out.println("7. create Item");
+    out.println("8. List Item");
+    out.println("9. Edit Item");
+    out.println("10. Delete Item");
+    out.println("11. Create Contract");
+    out.println("12. List Contracts");
+    out.println("13. Advance Day");
+    out.println("14. Search Items");
+    out.println("0. Exit");
   }
 
   public String promptMemberId() {
@@ -79,21 +196,21 @@ public class MenuView {
    * @param newDay the new day
    */
   public void displayAdvanceDay(int oldDay, int newDay) {
-    System.out.println("Day advanced from " + oldDay + " to " + newDay);
+    out.println("Day advanced from " + oldDay + " to " + newDay);
   }
 
   /**
    * Display exit message.
    */
   public void displayExitMessage() {
-    System.out.println("Thank you for using Stuff Lending System. Goodbye!");
+    out.println("Thank you for using Stuff Lending System. Goodbye!");
   }
 
   /**
    * Display invalid choice message.
    */
   public void displayInvalidChoice() {
-    System.out.println("Invalid choice. Please try again.");
+    out.println("Invalid choice. Please try again.");
   }
 
   /**
@@ -103,8 +220,29 @@ public class MenuView {
    * @return trimmed input from the user.
    */
   public String prompt(String msg) {
-    System.out.print(msg + " ");
-    return sc.nextLine().trim();
+    showPrompt(msg);
+    return nextLine();
+  }
+
+  /**
+   * Gets how many rows a listing shows before asking to continue.
+   *
+   * @return the page size
+   */
+  public int getPageSize() {
+    return pageSize;
+  }
+
+  /**
+   * Asks whether to show the next page of a listing.
+   *
+   * @return true to continue, false to stop
+   */
+  public boolean promptNextPage() {
+    if (batch) {
+      return true;
+    }
+    return !"q".equalsIgnoreCase(prompt("-- More: press Enter to continue, q to stop --"));
   }
 
   /**
@@ -115,12 +253,12 @@ public class MenuView {
    */
   public int promptInt(String msg) {
     while (true) {
-      System.out.print(msg + " ");
-      String line = sc.nextLine().trim();
+      showPrompt(msg);
+      String line = nextLine();
       try {
         return Integer.parseInt(line);
       } catch (NumberFormatException e) {
-        System.out.println("Invalid number. Please try again.");
+        out.println("Invalid number. Please try again.");
       }
     }
   }
@@ -130,12 +268,33 @@ public class MenuView {
    */
   public double promptDouble(String msg) {
     while (true) {
-      System.out.print(msg + " ");
-      String line = sc.nextLine().trim();
+      showPrompt(msg);
+      String line = nextLine();
       try {
         return Double.parseDouble(line);
       } catch (NumberFormatException e) {
-        System.out.println("Invalid decimal number, please try again.");
+        out.println("Invalid decimal number, please try again.");
+      }
+    }
+  }
+
+  /**
+   * Read an optional category, where an empty answer means any category.
+   *
+   * @param msg the prompt to show
+   * @return the category, or null for any
+   */
+  public Category promptOptionalCategory(String msg) {
+    while (true) {
+      showPrompt(msg);
+      String line = nextLine().toUpperCase();
+      if (line.isEmpty()) {
+        return null;
+      }
+      try {
+        return Category.valueOf(line);
+      } catch (IllegalArgumentException e) {
+        out.println("Invalid category. Valid options: TOOL, VEHICLE, GAME, TOY, SPORT, OTHER");
       }
     }
   }
@@ -145,12 +304,12 @@ public class MenuView {
    */
   public Category promptCategory(String msg) {
     while (true) {
-      System.out.print(msg + " ");
-      String line = sc.nextLine().trim().toUpperCase();
+      showPrompt(msg);
+      String line = nextLine().toUpperCase();
       try {
         return Category.valueOf(line);
       } catch (IllegalArgumentException e) {
-        System.out.println("Invalid category. Valid options: TOOL, VEHICLE, GAME, TOY, SPORT, OTHER");
+        out.println("Invalid category. Valid options: TOOL, VEHICLE, GAME, TOY, SPORT, OTHER");
       }
     }
   }
@@ -160,14 +319,14 @@ public class MenuView {
    *
    * @param member the member to display
    */
-  public void displayMember(Member member) {
-    System.out.println("Member ID: " + member.getMemberId());
-    System.out.println("Name: " + member.getName());
-    System.out.println("Email: " + member.getEmail());
-    System.out.println("Phone: " + member.getPhone());
-    System.out.println("Credits: " + member.getCredit());
-    System.out.println("Created: Day " + member.getCreatedDate());
-    System.out.println("Owned Items: " + member.getOwnedItems().size());
+  public void displayMember(MemberView member) {
+    out.println("Member ID: " + member.memberId());
+    out.println("Name: " + member.name());
+    out.println("Email: " + member.email());
+    out.println("Phone: " + member.phone());
+    out.println("Credits: " + member.credit());
+    out.println("Created: Day " + member.createdDate());
+    out.println("Owned Items: " + member.ownedItemCount());
   }
 
   /**
@@ -176,7 +335,7 @@ public class MenuView {
    * @param memberDetails the detailed member information
    */
   public void displayMemberDetails(String memberDetails) {
-    System.out.println(memberDetails);
+    out.println(memberDetails);
   }
 
   /**
@@ -184,15 +343,15 @@ public class MenuView {
    *
    * @param item the item to display
    */
-  public void displayItemDetails(Item item) {
-    System.out.println("Item ID: " + item.getItemId());
-    System.out.println("Name: " + item.getName());
-    System.out.println("Category: " + item.getCategory());
-    System.out.println("Description: " + item.getDescription());
-    System.out.println("Cost/day: " + item.getCostPerDay());
-    System.out.println("Owner: " + item.getOwner().getName());
-    System.out.println("Created: Day " + item.getCreationDate());
-    System.out.println("Available: Currently not checked (would need date range)");
+  public void displayItemDetails(ItemView item) {
+    out.println("Item ID: " + item.itemId());
+    out.println("Name: " + item.name());
+    out.println("Category: " + item.category());
+    out.println("Description: " + item.description());
+    out.println("Cost/day: " + item.costPerDay());
+    out.println("Owner: " + item.ownerName());
+    out.println("Created: Day " + item.creationDate());
+    out.println("Available: Currently not checked (would need date range)");
   }
 
   /**
@@ -201,19 +360,19 @@ public class MenuView {
    * @param item      the item to display
    * @param contracts the contracts for this item
    */
-  public void displayItemWithContracts(Item item, List<Contract> contracts) {
+  public void displayItemWithContracts(ItemView item, List<ContractView> contracts) {
     displayItemDetails(item);
-    System.out.println("\nContract History:");
+    out.println("\nContract History:");
     if (contracts.isEmpty()) {
-      System.out.println("No contracts found for this item.");
+      out.println("No contracts found for this item.");
     } else {
-      for (Contract contract : contracts) {
-        System.out.println(
-            "- Contract " + contract.getContractId()
-                + ": Days " + contract.getStartDay()
-                + "-" + contract.getEndDay()
-                + ", Borrower: " + contract.getBorrower().getName()
-                + ", Cost: " + contract.getTotalCost());
+      for (ContractView contract : contracts) {
+        out.println(
+            "- Contract " + contract.contractId()
+                + ": Days " + contract.startDay()
+                + "-" + contract.endDay()
+                + ", Borrower: " + contract.borrowerName()
+                + ", Cost: " + contract.totalCost());
       }
     }
   }
@@ -223,16 +382,11 @@ public class MenuView {
    *
    * @param items the list of items to display
    */
-  public void displayItems(List<Item> items) {
+  public void displayItems(List<ItemView> items) {
     if (items.isEmpty()) {
-      System.out.println("No items found");
+      out.println("No items found");
     } else {
-      System.out.println("\n=== Items ===");
-      for (Item item : items) {
-        System.out.println(
-            item.getName() + " (ID: " + item.getItemId() + ", Owner: " + item.getOwner().getName() + ", Category: "
-                + item.getCategory() + ")");
-      }
+      showPage(itemTable, "=== Items ===", items);
     }
   }
 
@@ -241,14 +395,14 @@ public class MenuView {
    *
    * @param contract the contract to display
    */
-  public void displayContractDetails(Contract contract) {
-    System.out.println("Contract ID: " + contract.getContractId());
-    System.out.println("Item: " + contract.getItem().getName());
-    System.out.println("Borrower: " + contract.getBorrower().getName());
-    System.out.println("Start Date: Day " + contract.getStartDay());
-    System.out.println("End Date: Day " + contract.getEndDay());
-    System.out.println("Total Cost: " + contract.getTotalCost());
-    System.out.println("Valid: " + (contract.valid() ? "Yes" : "No"));
+  public void displayContractDetails(ContractView contract) {
+    out.println("Contract ID: " + contract.contractId());
+    out.println("Item: " + contract.itemName());
+    out.println("Borrower: " + contract.borrowerName());
+    out.println("Start Date: Day " + contract.startDay());
+    out.println("End Date: Day " + contract.endDay());
+    out.println("Total Cost: " + contract.totalCost());
+    out.println("Valid: " + (contract.valid() ? "Yes" : "No"));
   }
 
   /**
@@ -256,15 +410,11 @@ public class MenuView {
    *
    * @param contracts the list of contracts to display
    */
-  public void displayContracts(List<Contract> contracts) {
+  public void displayContracts(List<ContractView> contracts) {
     if (contracts.isEmpty()) {
-      System.out.println("No contracts found");
+      out.println("No contracts found");
     } else {
-      System.out.println("\n=== Contracts ===");
-      for (Contract contract : contracts) {
-        System.out.println("Contract " + contract.getContractId() + ": " + contract.getItem().getName() + " (Days "
-            + contract.getStartDay() + "-" + contract.getEndDay() + ")");
-      }
+      showPage(contractTable, "=== Contracts ===", contracts);
     }
   }
 
@@ -276,7 +426,7 @@ public class MenuView {
    */
   public void displayActionResult(boolean success, String message) {
     String prefix = success ? "[SUCCESS] " : "[ERROR] ";
-    System.out.println(prefix + message);
+    out.println(prefix + message);
   }
 
   /**
@@ -285,30 +435,47 @@ public class MenuView {
    * @param members the list of members to display
    * @param verbose whether to show verbose details
    */
-  public void displayMembers(List<Member> members, boolean verbose) {
+  public void displayMembers(List<MemberView> members, boolean verbose) {
     if (members.isEmpty()) {
-      System.out.println("No members found");
+      out.println("No members found");
       return;
     }
-    System.out.println("\n=== Members ===");
-    for (Member member : members) {
-      if (verbose) {
-        displayMember(member);
-        System.out.println("---");
-      } else {
-        System.out.println(
-            member.getName() + " (ID: " + member.getMemberId() + ", Credits: " + member.getCredit() + ")");
-      }
+    showPage(verbose ? memberDetailTable : memberTable, "=== Members ===", members);
+  }
+
+  private <T> void showPage(TableRenderer<T> table, String title, List<? extends T> rows) {
+    table.renderPage(title, rows, out);
+    if (!batch) {
+      out.flush();
     }
   }
 
+  /**
+   * Display a plain message.
+   *
+   * @param message the message
+   */
+  public void displayMessage(String message) {
+    out.println(message);
+  }
+
+  /**
+   * Display how long a batch command took.
+   *
+   * @param command the menu choice that ran
+   * @param nanos the time it took in nanoseconds
+   */
+  public void displayTiming(int command, long nanos) {
+    out.printf("# command %d took %.3f ms%n", command, nanos / 1e6);
+  }
+
   /**
    * Display error message.
    *
    * @param message the error message
    */
   public void displayError(String message) {
-    System.out.println("[ERROR] " + message);
+    out.println("[ERROR] " + message);
   }
 
   /**
@@ -317,6 +484,6 @@ public class MenuView {
    * @param message the success message
    */
   public void displaySuccess(String message) {
-    System.out.println("[SUCCESS] " + message);
+    out.println("[SUCCESS] " + message);
   }
 }
\ No newline at end of file
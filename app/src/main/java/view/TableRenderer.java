@@ -0,0 +1,83 @@
+package view;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Renders rows as text columns. A page is built in one reusable buffer and
+ * handed to the writer in a single write, instead of one println per field.
+ * Flushing is left to the caller. Not thread-safe; each view owns its renderers.
+ *
+ * @param <T> the row type
+ */
+public final class TableRenderer<T> {
+  private static final String GAP = "  ";
+  private final List<Column<T>> columns;
+  private final StringBuilder buffer = new StringBuilder(1024);
+  private char[] chars = new char[1024]; // the page handed to the writer, grown as needed
+
+  /**
+   * One column of a table. Values longer than the width are kept whole and
+   * push the rest of the row to the right.
+   *
+   * @param header the column title
+   * @param width the minimum width in characters
+   * @param value reads the cell value from a row
+   * @param <T> the row type
+   */
+  public record Column<T>(String header, int width, Function<? super T, ?> value) {
+  }
+
+  /**
+   * Creates a renderer for the given column layout.
+   *
+   * @param columns the columns from left to right
+   */
+  public TableRenderer(List<Column<T>> columns) {
+    if (columns.isEmpty()) {
+      throw new IllegalArgumentException("A table needs at least one column");
+    }
+    this.columns = List.copyOf(columns);
+  }
+
+  /**
+   * Writes one page: a blank line, the title, the header and one line per row.
+   *
+   * @param title the line shown above the table
+   * @param rows the rows on this page
+   * @param out where the page is written
+   */
+  public void renderPage(String title, List<? extends T> rows, PrintWriter out) {
+    buffer.setLength(0);
+    buffer.append(System.lineSeparator()).append(title).append(System.lineSeparator());
+    for (int i = 0; i < columns.size(); i++) {
+      cell(i, columns.get(i).header());
+    }
+    buffer.append(System.lineSeparator());
+    for (T row : rows) {
+      for (int i = 0; i < columns.size(); i++) {
+        cell(i, String.valueOf(columns.get(i).value().apply(row)));
+      }
+      buffer.append(System.lineSeparator());
+    }
+    // copy into the reused array rather than building a String for every page
+    int length = buffer.length();
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length * 2)];
+    }
+    buffer.getChars(0, length, chars, 0);
+    out.write(chars, 0, length);
+  }
+
+  private void cell(int column, String text) {
+    buffer.append(text);
+    if (column < columns.size() - 1) {
+      // pad every column but the last, so rows carry no trailing spaces
+      for (int pad = columns.get(column).width() - text.length(); pad > 0; pad--) {
+        buffer.append(' ');
+      }
+      buffer.append(GAP);
+    }
+  }
+}
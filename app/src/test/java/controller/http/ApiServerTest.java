@@ -0,0 +1,109 @@
+package controller.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import model.service.ContractService;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.TimeService;
+
+/**
+ * Tests the HTTP API end to end on a local port.
+ */
+public class ApiServerTest {
+  private final HttpClient client = HttpClient.newHttpClient();
+  private ApiServer server;
+  private Member owner;
+  private Item item;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    TimeService time = new TimeService();
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    ItemService itemService = new ItemService(dataStore, time, memberService);
+    ContractService contractService =
+        new ContractService(time, dataStore, memberService, itemService);
+    owner = memberService.createMember("Owner", "111", "owner@example.com");
+    item = itemService.createItem("Drill", Item.Category.TOOL, "Cordless drill", 10.0,
+        owner.getMemberId());
+    server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), memberService, itemService,
+        contractService, time);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop();
+  }
+
+  private HttpResponse<String> send(String method, String path, String form) throws Exception {
+    HttpRequest.Builder request = HttpRequest.newBuilder(
+        URI.create("http://127.0.0.1:" + server.getPort() + path));
+    if (form == null) {
+      request.method(method, HttpRequest.BodyPublishers.noBody());
+    } else {
+      request.header("Content-Type", "application/x-www-form-urlencoded")
+          .method(method, HttpRequest.BodyPublishers.ofString(form));
+    }
+    return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+  }
+
+  @Test
+  void testCreateAndFetchMember() throws Exception {
+    HttpResponse<String> created = send("POST", "/members",
+        "name=Ann+Lee&phone=222&email=ann%40example.com");
+    assertEquals(201, created.statusCode());
+    assertTrue(created.body().contains("\"name\":\"Ann Lee\""));
+    assertTrue(created.body().contains("\"email\":\"ann@example.com\""));
+
+    HttpResponse<String> fetched = send("GET", "/members/" + owner.getMemberId(), null);
+    assertEquals(200, fetched.statusCode());
+    assertTrue(fetched.body().contains("\"ownedItemCount\":1"));
+    assertEquals(404, send("GET", "/members/NOPE00", null).statusCode());
+  }
+
+  @Test
+  void testBookContractAndAdvanceDay() throws Exception {
+    String borrower = send("POST", "/members", "name=Bo&phone=333&email=bo@example.com").body();
+    int at = borrower.indexOf("\"memberId\":\"") + 12;
+    String borrowerId = borrower.substring(at, at + 6);
+    send("POST", "/items", "name=Saw&category=tool&description=Hand+saw&costPerDay=1&ownerId="
+        + borrowerId);
+
+    HttpResponse<String> quote = send("GET", "/contracts/quote?borrowerId=" + borrowerId
+        + "&itemId=" + item.getItemId() + "&startDay=0&endDay=1", null);
+    assertTrue(quote.body().contains("\"cost\":20.0"));
+    assertTrue(quote.body().contains("\"bookable\":true"));
+
+    HttpResponse<String> booked = send("POST", "/contracts", "borrowerId=" + borrowerId
+        + "&itemId=" + item.getItemId() + "&startDay=0&endDay=1");
+    assertEquals(201, booked.statusCode());
+    assertTrue(send("GET", "/contracts", null).body().contains("\"totalCost\":20.0"));
+
+    HttpResponse<String> again = send("POST", "/contracts", "borrowerId=" + borrowerId
+        + "&itemId=" + item.getItemId() + "&startDay=1&endDay=1");
+    assertEquals(400, again.statusCode());
+
+    assertEquals("{\"from\":0,\"to\":3}", send("POST", "/day/advance?days=3", null).body());
+    assertEquals("{\"day\":3}", send("GET", "/day", null).body());
+  }
+
+  @Test
+  void testBadRequests() throws Exception {
+    assertEquals(400, send("POST", "/members", "name=X").statusCode());
+    assertEquals(400, send("GET", "/items?limit=abc", null).statusCode());
+    assertEquals(404, send("PUT", "/items", null).statusCode());
+    assertEquals(204, send("DELETE", "/items/" + item.getItemId(), null).statusCode());
+  }
+}
@@ -0,0 +1,36 @@
+package controller.http;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import model.entity.MemberView;
+
+/**
+ * Unit tests for JsonEncoder.
+ */
+public class JsonEncoderTest {
+
+  @Test
+  void testStringsAreEscaped() {
+    StringBuilder out = new StringBuilder();
+    JsonEncoder.string(out, "a\"b\\c\nd\u0001");
+    assertEquals("\"a\\\"b\\\\c\\nd\\u0001\"", out.toString());
+  }
+
+  @Test
+  void testPageOfMembers() {
+    StringBuilder out = new StringBuilder();
+    MemberView member = new MemberView("ABC123", "Ann", "a@x.com", "1", 2.5, 0, 3);
+    JsonEncoder.page(out, List.of(member), null, JsonEncoder::member);
+    assertEquals("{\"entries\":[{\"memberId\":\"ABC123\",\"name\":\"Ann\",\"email\":\"a@x.com\","
+        + "\"phone\":\"1\",\"credit\":2.5,\"createdDate\":0,\"ownedItemCount\":3}],"
+        + "\"nextCursor\":null}", out.toString());
+  }
+
+  @Test
+  void testNonFiniteNumbersBecomeNull() {
+    StringBuilder out = new StringBuilder();
+    JsonEncoder.field(out, "x", Double.NaN);
+    assertEquals("\"x\":null", out.toString());
+  }
+}
@@ -0,0 +1,91 @@
+package model.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IdAllocator - format, uniqueness and restored IDs.
+ */
+public class IdAllocatorTest {
+
+  @Test
+  public void testEncodingIsABijection() {
+    long[] values = {0, 1, 2, 35, 36, 1_000_000, 2_176_782_335L};
+    Set<String> ids = new HashSet<>();
+    for (long value : values) {
+      String id = IdAllocator.encode(value);
+      assertTrue(id.matches("[A-Z0-9]{6}"), id);
+      assertEquals(value, IdAllocator.decode(id));
+      assertTrue(ids.add(id));
+    }
+    assertEquals(-1, IdAllocator.decode("abc"));
+    assertEquals(-1, IdAllocator.decode("ab-def"));
+  }
+
+  @Test
+  public void testConcurrentAllocationNeverRepeats() throws Exception {
+    IdAllocator allocator = new IdAllocator();
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<List<String>>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      futures.add(pool.submit(() -> {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+          ids.add(allocator.next());
+        }
+        return ids;
+      }));
+    }
+    Set<String> all = new HashSet<>();
+    for (Future<List<String>> future : futures) {
+      all.addAll(future.get(60, TimeUnit.SECONDS));
+    }
+    pool.shutdown();
+    assertEquals(8 * 20_000, all.size());
+  }
+
+  @Test
+  public void testObservedIdsAreSkipped() {
+    IdAllocator issued = new IdAllocator();
+    List<String> stored = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      stored.add(issued.next());
+    }
+
+    // a restarted allocator that sees the stored IDs, plus one far ahead of them
+    IdAllocator restarted = new IdAllocator();
+    String farAhead = IdAllocator.encode(12);
+    for (String id : stored) {
+      restarted.observe(id);
+    }
+    restarted.observe(farAhead);
+    restarted.observe("not-an-id");
+
+    Set<String> fresh = new HashSet<>();
+    for (int i = 0; i < 10; i++) {
+      fresh.add(restarted.next());
+    }
+    assertFalse(fresh.removeAll(stored));
+    assertFalse(fresh.contains(farAhead));
+    assertEquals(10, fresh.size());
+  }
+
+  @Test
+  public void testDistantObservedIdIsSkippedWhenReached() {
+    IdAllocator allocator = new IdAllocator();
+    String distant = IdAllocator.encode(200_000);
+    allocator.observe(distant);
+
+    for (int i = 0; i < 200_001; i++) {
+      assertNotEquals(distant, allocator.next());
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package model.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IntervalTree - checked against a brute force scan.
+ */
+public class IntervalTreeTest {
+
+  @Test
+  void testEmptyTreeHasNoOverlap() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    assertFalse(tree.overlaps(0, 100));
+    assertEquals(0, tree.size());
+  }
+
+  @Test
+  void testRemoveUsesIdentityForEqualBounds() {
+    IntervalTree<String> tree = new IntervalTree<>();
+    String first = new String("a");
+    String second = new String("a");
+    tree.insert(5, 7, first);
+    tree.insert(5, 7, second);
+
+    assertTrue(tree.remove(5, 7, second));
+    assertFalse(tree.remove(5, 7, second));
+    assertTrue(tree.overlaps(6, 6)); // first is still there
+    assertTrue(tree.remove(5, 7, first));
+    assertFalse(tree.overlaps(6, 6));
+  }
+
+  @Test
+  void testRandomOperationsMatchLinearScan() {
+    Random random = new Random(42);
+    IntervalTree<int[]> tree = new IntervalTree<>();
+    List<int[]> reference = new ArrayList<>();
+
+    for (int i = 0; i < 5000; i++) {
+      if (!reference.isEmpty() && random.nextInt(3) == 0) {
+        int[] victim = reference.remove(random.nextInt(reference.size()));
+        assertTrue(tree.remove(victim[0], victim[1], victim));
+      } else {
+        int start = random.nextInt(1000);
+        int[] interval = {start, start + random.nextInt(20)};
+        reference.add(interval);
+        tree.insert(interval[0], interval[1], interval);
+      }
+
+      int queryStart = random.nextInt(1000);
+      int queryEnd = queryStart + random.nextInt(10);
+      boolean expected = false;
+      for (int[] interval : reference) {
+        if (queryStart <= interval[1] && queryEnd >= interval[0]) {
+          expected = true;
+          break;
+        }
+      }
+      assertEquals(expected, tree.overlaps(queryStart, queryEnd));
+      assertEquals(reference.size(), tree.size());
+    }
+
+    IntervalTree<int[]> copy = new IntervalTree<>(tree);
+    assertEquals(tree.size(), copy.size());
+  }
+}
@@ -190,4 +190,29 @@ public class ItemTest {
       item.removeContracts(contract);
     });
   }
+
+  @Test
+  void testViewsCarryFlatFields() {
+    Member borrower = new Member("Borrower", "b@example.com", "222-222-2222", 0);
+    borrower.setCredit(100.0);
+    Contract contract = new Contract(borrower, item, 1, 2, strategy, timeService);
+    item.addContract(contract);
+
+    ItemView itemView = item.view();
+    assertEquals(item.getItemId(), itemView.itemId());
+    assertEquals(owner.getMemberId(), itemView.ownerId());
+    assertEquals("Owner", itemView.ownerName());
+    assertEquals(Item.Category.TOOL, itemView.category());
+
+    ContractView contractView = item.contractViews().get(0);
+    assertEquals(contract.getContractId(), contractView.contractId());
+    assertEquals("Test Item", contractView.itemName());
+    assertEquals("Borrower", contractView.borrowerName());
+    assertEquals(20.0, contractView.totalCost());
+    assertTrue(contractView.valid());
+
+    MemberView memberView = borrower.view();
+    assertEquals(100.0, memberView.credit());
+    assertEquals(0, memberView.ownedItemCount());
+  }
 }
@@ -1,6 +1,7 @@
 package model.entity;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import model.service.TimeService;
@@ -101,6 +102,25 @@ public class MemberTest {
     assertEquals(200.0, member.getCredit());
   }
 
+  @Test
+  void testOwnedItemsAreReturnedAsACopy() {
+    Item item1 = new Item("Item 1", Item.Category.TOOL, "Description 1",
+                         10.0, member, timeService);
+    Item item2 = new Item("Item 2", Item.Category.VEHICLE, "Description 2",
+                         20.0, member, timeService);
+    member.addItem(item1);
+
+    List<Item> owned = member.getOwnedItems();
+    member.addItem(item2);
+    member.removeItem(item1);
+
+    // the earlier copy does not follow later changes
+    assertEquals(1, owned.size());
+    assertSame(item1, owned.get(0));
+    assertEquals(1, member.getOwnedItemCount());
+    assertSame(item2, member.getOwnedItems().get(0));
+  }
+
   @Test
   void testNullParameterValidation() {
     assertThrows(NullPointerException.class, () -> {
@@ -0,0 +1,112 @@
+package model.ledger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import model.entity.Member;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for CreditLedger - exact transfers, reversal and conservation.
+ */
+public class CreditLedgerTest {
+  private final CreditLedger ledger = new CreditLedger();
+
+  @Test
+  public void testTransferIsExactInCents() {
+    Member from = new Member("M00001", "From", "from@test.com", "111", 0);
+    Member to = new Member("M00002", "To", "to@test.com", "222", 0);
+    from.setCredit(1.0);
+
+    for (int i = 0; i < 10; i++) {
+      ledger.transfer(from, to, Cents.of(0.1));
+    }
+
+    assertEquals(0, from.getCreditCents());
+    assertEquals(100, to.getCreditCents());
+    assertEquals(1.0, to.getCredit());
+  }
+
+  @Test
+  public void testInsufficientCreditLeavesBalancesUnchanged() {
+    Member from = new Member("M00001", "From", "from@test.com", "111", 0);
+    Member to = new Member("M00002", "To", "to@test.com", "222", 0);
+    from.setCredit(5.0);
+
+    assertThrows(IllegalArgumentException.class, () -> ledger.transfer(from, to, 501));
+    assertEquals(500, from.getCreditCents());
+    assertEquals(0, to.getCreditCents());
+  }
+
+  @Test
+  public void testReverseRestoresBalances() {
+    Member from = new Member("M00001", "From", "from@test.com", "111", 0);
+    Member to = new Member("M00002", "To", "to@test.com", "222", 0);
+    from.setCredit(50.0);
+
+    CreditLedger.Transfer transfer = ledger.transfer(from, to, 2000);
+    assertEquals(2000, transfer.getCents());
+    ledger.reverse(transfer);
+
+    assertEquals(5000, from.getCreditCents());
+    assertEquals(0, to.getCreditCents());
+  }
+
+  @Test
+  public void testReverseNeverOverdrawsThePayee() {
+    Member from = new Member("M00001", "From", "from@test.com", "111", 0);
+    Member to = new Member("M00002", "To", "to@test.com", "222", 0);
+    Member shop = new Member("M00003", "Shop", "shop@test.com", "333", 0);
+    from.setCredit(50.0);
+
+    CreditLedger.Transfer transfer = ledger.transfer(from, to, 2000);
+    ledger.transfer(to, shop, 1500); // the payee spends before the reversal
+
+    assertThrows(IllegalStateException.class, () -> ledger.reverse(transfer));
+    assertEquals(3000, from.getCreditCents());
+    assertEquals(500, to.getCreditCents());
+    assertThrows(IllegalArgumentException.class, () -> to.depositCents(-1));
+  }
+
+  @Test
+  public void testConcurrentTransfersConserveTotal() throws Exception {
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Member member = new Member("M0000" + i, "M" + i, i + "@test.com", "" + i, 0);
+      member.setCredit(10.0);
+      members.add(member);
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      final int thread = t;
+      futures.add(pool.submit(() -> {
+        for (int i = 0; i < 10000; i++) {
+          Member from = members.get((thread + i) % members.size());
+          Member to = members.get((thread + 3 * i + 1) % members.size());
+          try {
+            ledger.transfer(from, to, 1 + i % 7);
+          } catch (IllegalArgumentException e) {
+            // not enough credit right now
+          }
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+
+    long total = 0;
+    for (Member member : members) {
+      assertTrue(member.getCreditCents() >= 0);
+      total += member.getCreditCents();
+    }
+    assertEquals(8 * 1000, total);
+  }
+}
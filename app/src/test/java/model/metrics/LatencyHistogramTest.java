@@ -0,0 +1,43 @@
+package model.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for LatencyHistogram - bucket bounds and percentiles.
+ */
+public class LatencyHistogramTest {
+
+  @Test
+  public void testEveryValueFitsItsBucket() {
+    long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 123456789L, Long.MAX_VALUE};
+    for (long value : values) {
+      int bucket = LatencyHistogram.bucket(value);
+      assertTrue(value <= LatencyHistogram.upperBound(bucket), "value " + value);
+      if (bucket > 0) {
+        assertTrue(value > LatencyHistogram.upperBound(bucket - 1), "value " + value);
+      }
+    }
+  }
+
+  @Test
+  public void testPercentilesWithinBucketPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000L);
+    }
+
+    assertEquals(1000, histogram.count());
+    assertInRange(500_000, histogram.percentile(0.5));
+    assertInRange(990_000, histogram.percentile(0.99));
+    assertInRange(999_000, histogram.percentile(0.999));
+
+    histogram.reset();
+    assertEquals(0, histogram.percentile(0.5));
+  }
+
+  private static void assertInRange(long expected, long actual) {
+    assertTrue(actual >= expected && actual <= expected * 1.125,
+        "expected about " + expected + " but was " + actual);
+  }
+}
@@ -0,0 +1,52 @@
+package model.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+import model.service.MemberService;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the instrumented services and the JMX view of the registry.
+ */
+public class MetricsRegistryTest {
+
+  @Test
+  public void testCallsAndErrorsAreCounted() {
+    MetricsRegistry metrics = new MetricsRegistry();
+    DataStore dataStore = new InstrumentedDataStore(new InMemoryDataStore(), metrics);
+    MemberService service = new InstrumentedMemberService(new TimeService(), dataStore, metrics);
+
+    service.createMember("Ann", "111", "ann@test.com");
+    assertThrows(IllegalArgumentException.class,
+        () -> service.createMember("Bob", "222", "ann@test.com"));
+
+    OperationMetrics create = metrics.operation("member.create");
+    assertEquals(2, create.getCalls());
+    assertEquals(1, create.getErrors());
+    assertTrue(create.getPercentileNanos(0.99) > 0);
+    assertEquals(1, metrics.operation("store.upsertMember").getCalls());
+  }
+
+  @Test
+  public void testRegistryIsReadableOverJmx() throws Exception {
+    MetricsRegistry metrics = new MetricsRegistry();
+    MemberService service = new InstrumentedMemberService(new TimeService(),
+        new InMemoryDataStore(), metrics);
+    service.findMemberById("NOBODY");
+    metrics.registerJmx();
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(MetricsRegistry.OBJECT_NAME);
+    assertEquals(1L, server.getAttribute(name, "member.find.calls"));
+    assertEquals(0L, server.getAttribute(name, "member.find.errors"));
+
+    server.invoke(name, "reset", null, null);
+    assertEquals(0L, server.getAttribute(name, "member.find.calls"));
+    server.unregisterMBean(name);
+  }
+}
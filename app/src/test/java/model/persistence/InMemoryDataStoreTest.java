@@ -3,7 +3,9 @@ package model.persistence;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.Arrays;
 import java.util.List;
+import model.entity.Item;
 import model.entity.Member;
+import model.service.TimeService;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -32,11 +34,27 @@ public class InMemoryDataStoreTest {
     assertEquals("John", loadedMembers.get(0).getName());
     assertEquals("Jane", loadedMembers.get(1).getName());
     
-    // Verify defensive copying (modifications to returned list don't affect storage)
-    loadedMembers.clear();
+    // Loaded versions are immutable, so callers cannot modify the storage
+    assertThrows(UnsupportedOperationException.class, loadedMembers::clear);
     List<Member> reloadedMembers = dataStore.loadMembers();
     assertEquals(2, reloadedMembers.size()); // Should still have 2 members
   }
+
+  @Test
+  public void testLoadedVersionIsStableAndShared() {
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    Member member1 = new Member("M00011", "John", "john@test.com", "123456", 0);
+    Member member2 = new Member("M00012", "Jane", "jane@test.com", "789012", 0);
+    dataStore.upsertMember(member1);
+
+    List<Member> before = dataStore.loadMembers();
+    assertSame(before, dataStore.loadMembers()); // no write in between, no copy
+
+    dataStore.upsertMember(member2);
+    dataStore.deleteMember("M00011");
+    assertEquals(List.of(member1), before); // the old version does not change
+    assertEquals(List.of(member2), dataStore.loadMembers());
+  }
   
   @Test
   public void testSaveNullMembers() {
@@ -66,4 +84,53 @@ public class InMemoryDataStoreTest {
     assertEquals(1, members.size());
     assertEquals("Jane", members.get(0).getName());
   }
+
+  @Test
+  public void testUpsertAndDeleteSingleMembers() {
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    Member member1 = new Member("M00001", "John", "john@test.com", "123456", 0);
+    Member member2 = new Member("M00002", "Jane", "jane@test.com", "789012", 0);
+
+    dataStore.upsertMember(member1);
+    dataStore.upsertMembers(Arrays.asList(member2, member1)); // re-upsert keeps position
+    assertEquals(2, dataStore.loadMembers().size());
+    assertEquals("John", dataStore.loadMembers().get(0).getName());
+
+    assertTrue(dataStore.deleteMember("M00001"));
+    assertFalse(dataStore.deleteMember("M00001"));
+    assertEquals(1, dataStore.loadMembers().size());
+
+    dataStore.deleteMembers(Arrays.asList("M00002", "missing"));
+    assertTrue(dataStore.loadMembers().isEmpty());
+  }
+
+  @Test
+  public void testCommitIsPublishedOneCollectionAtATime() throws Exception {
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    TimeService time = new TimeService();
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 2000; i++) {
+        Member first = new Member(String.format("A%05d", i), "A", "a" + i + "@test.com", "1", 0);
+        Member second = new Member(String.format("B%05d", i), "B", "b" + i + "@test.com", "2", 0);
+        dataStore.beginWork()
+            .upsertMember(first).upsertMember(second)
+            .upsertItem(new Item("Drill", Item.Category.TOOL, "Drill", 1.0, first, time))
+            .upsertItem(new Item("Saw", Item.Category.TOOL, "Saw", 1.0, second, time))
+            .commit();
+      }
+    });
+    writer.start();
+    while (writer.isAlive()) {
+      int items = dataStore.loadItems().size();
+      int members = dataStore.loadMembers().size();
+      // each collection only ever shows whole commits
+      assertEquals(0, items % 2);
+      assertEquals(0, members % 2);
+      // members are published before items, so loading items first never sees more of them
+      assertTrue(members >= items);
+    }
+    writer.join();
+    assertEquals(4000, dataStore.loadMembers().size());
+    assertEquals(4000, dataStore.loadItems().size());
+  }
 }
@@ -0,0 +1,104 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for MappedSnapshotDataStore - round trips through the binary format.
+ */
+public class MappedSnapshotDataStoreTest {
+  @TempDir
+  Path dir;
+
+  @Test
+  public void testSnapshotRoundTrip() throws IOException {
+    Path file = dir.resolve("data.snap");
+    TimeService time = new TimeService();
+
+    MappedSnapshotDataStore store = new MappedSnapshotDataStore(file, time);
+    assertTrue(store.loadMembers().isEmpty());
+
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Member borrower = new Member("M00002", "B\u00f6rrower", "borrower@test.com", "222", 0);
+    borrower.setCredit(100.0);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    owner.addItem(item);
+    Contract contract = new Contract(borrower, item, 1, 3, new FlatRateStrategy(), time);
+    item.addContract(contract);
+    store.upsertMembers(List.of(owner, borrower));
+    store.upsertItem(item);
+    store.upsertContract(contract);
+    store.save();
+
+    MappedSnapshotDataStore reopened = new MappedSnapshotDataStore(file, time);
+    List<Member> members = reopened.loadMembers();
+    assertEquals(2, members.size());
+    assertEquals("B\u00f6rrower", members.get(1).getName());
+    assertEquals(100.0, members.get(0).getCredit());
+
+    Item loadedItem = reopened.loadItems().get(0);
+    assertEquals(item.getItemId(), loadedItem.getItemId());
+    assertEquals(Item.Category.TOOL, loadedItem.getCategory());
+    assertSame(members.get(0).getOwnedItems().get(0), loadedItem);
+
+    Contract loadedContract = reopened.loadContracts().get(0);
+    assertEquals(contract.getContractId(), loadedContract.getContractId());
+    assertEquals(30.0, loadedContract.getTotalCost());
+    assertFalse(loadedItem.isAvailable(2, 2));
+  }
+
+  @Test
+  public void testDeletedItemIsNotReturnedToItsOwner() throws IOException {
+    Path file = dir.resolve("deleted.snap");
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Member borrower = new Member("M00002", "Borrower", "borrower@test.com", "222", 0);
+    borrower.setCredit(100.0);
+    Item kept = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    Item deleted = new Item("Saw", Item.Category.TOOL, "Hand saw", 5.0, owner, time);
+    owner.addItem(kept);
+    owner.addItem(deleted);
+    Contract contract = new Contract(borrower, deleted, 1, 2, new FlatRateStrategy(), time);
+    deleted.addContract(contract);
+
+    MappedSnapshotDataStore store = new MappedSnapshotDataStore(file, time);
+    store.upsertMembers(List.of(owner, borrower));
+    store.upsertItems(List.of(kept, deleted));
+    store.upsertContract(contract);
+    owner.removeItem(deleted);
+    store.deleteItem(deleted.getItemId());
+    store.save();
+
+    MappedSnapshotDataStore reopened = new MappedSnapshotDataStore(file, time);
+    Contract loadedContract = reopened.loadContracts().get(0); // still resolves its item
+    assertEquals(deleted.getItemId(), loadedContract.getItemId());
+    Member loadedOwner = reopened.loadMembers().get(0);
+    assertEquals(1, loadedOwner.getOwnedItems().size());
+    assertEquals(kept.getItemId(), loadedOwner.getOwnedItems().get(0).getItemId());
+    assertEquals(owner.getCredit(), loadedOwner.getCredit());
+  }
+
+  @Test
+  public void testAnyStoredBalanceIsLoaded() throws IOException {
+    Path file = dir.resolve("negative.snap");
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    owner.addItem(item);
+    owner.restoreCredit(-2.5); // overdrawn by an older build
+    MappedSnapshotDataStore.write(file, List.of(owner), List.of(item), List.of());
+
+    MappedSnapshotDataStore reopened = new MappedSnapshotDataStore(file, time);
+    assertEquals(1, reopened.loadItems().size());
+    assertEquals(-2.5, reopened.loadMembers().get(0).getCredit());
+  }
+}
@@ -0,0 +1,111 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for PersistentHashMap and PersistentSequence, checked against
+ * the mutable JDK collections.
+ */
+public class PersistentCollectionsTest {
+
+  @Test
+  void testHashMapMatchesHashMap() {
+    Random random = new Random(1);
+    Map<String, Integer> expected = new HashMap<>();
+    PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+    for (int i = 0; i < 20_000; i++) {
+      String key = "k" + random.nextInt(3000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.remove(key);
+      } else {
+        expected.put(key, i);
+        map = map.put(key, i);
+      }
+    }
+    assertEquals(expected.size(), map.size());
+    for (int k = 0; k < 3000; k++) {
+      assertEquals(expected.get("k" + k), map.get("k" + k));
+    }
+  }
+
+  @Test
+  void testHashMapHandlesCollisions() {
+    // "Aa" and "BB" have the same hash code
+    PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+        .put("Aa", 1).put("BB", 2).put("C", 3);
+    assertEquals(1, map.get("Aa"));
+    assertEquals(2, map.get("BB"));
+    PersistentHashMap<String, Integer> smaller = map.remove("Aa");
+    assertNull(smaller.get("Aa"));
+    assertEquals(2, smaller.get("BB"));
+    assertEquals(2, smaller.size());
+    assertEquals(1, map.get("Aa")); // the old version is untouched
+  }
+
+  @Test
+  void testOldMapVersionsStayIntact() {
+    PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+    PersistentHashMap<String, Integer> one = empty.put("a", 1);
+    PersistentHashMap<String, Integer> two = one.put("a", 2);
+    assertNull(empty.get("a"));
+    assertEquals(1, one.get("a"));
+    assertEquals(2, two.get("a"));
+    assertSame(two, two.remove("missing"));
+  }
+
+  @Test
+  void testSequenceMatchesTreeMap() {
+    Random random = new Random(2);
+    TreeMap<Long, Integer> expected = new TreeMap<>();
+    PersistentSequence<Integer> sequence = PersistentSequence.empty();
+    for (int i = 0; i < 20_000; i++) {
+      long key = random.nextInt(5000);
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        sequence = sequence.remove(key);
+      } else {
+        expected.put(key, i);
+        sequence = sequence.put(key, i);
+      }
+    }
+    List<Integer> values = new ArrayList<>(expected.values());
+    assertEquals(values, sequence.asList());
+    for (int i = 0; i < values.size(); i += 97) {
+      assertEquals(values.get(i), sequence.get(i));
+    }
+  }
+
+  @Test
+  void testBulkBuiltSequenceKeepsWorking() {
+    List<Integer> values = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      values.add(i);
+    }
+    PersistentSequence<Integer> sequence = PersistentSequence.of(values);
+    assertEquals(values, sequence.asList());
+
+    sequence = sequence.remove(0).put(1000, 1000).put(500, -1);
+    values.remove(0);
+    values.add(1000);
+    values.set(499, -1);
+    assertEquals(values, sequence.asList());
+  }
+
+  @Test
+  void testSequenceListIsAFrozenVersion() {
+    PersistentSequence<String> sequence = PersistentSequence.<String>empty().put(1, "a");
+    List<String> view = sequence.asList();
+    sequence.put(2, "b").remove(1);
+    assertEquals(List.of("a"), view);
+    assertThrows(UnsupportedOperationException.class, () -> view.add("c"));
+    assertThrows(IndexOutOfBoundsException.class, () -> view.get(1));
+  }
+}
@@ -0,0 +1,146 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.ContractService;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ShardedDataStore - placement, cross-shard commits and loads.
+ */
+public class ShardedDataStoreTest {
+  private final TimeService time = new TimeService();
+
+  @Test
+  public void testOwnerItemsAndContractsShareTheOwnersShard() throws Exception {
+    ShardedDataStore store = new ShardedDataStore(4);
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Member borrower = memberOnOtherShard(store, owner);
+    borrower.setCredit(200.0);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    store.upsertMembers(List.of(owner, borrower));
+    store.upsertItem(item);
+
+    ContractService service = new ContractService(time, store);
+    Contract contract = service.createContract(borrower, owner, item, 0, 2,
+        new FlatRateStrategy());
+
+    assertEquals(store.shardOf(owner.getMemberId()), store.shardOf(contract.getOwnerId()));
+    assertEquals(List.of(contract), store.loadContracts());
+    assertEquals(Set.of(owner, borrower), new HashSet<>(store.loadMembers()));
+    assertEquals(170.0, store.loadMembers().get(store.loadMembers().indexOf(borrower))
+        .getCredit());
+  }
+
+  @Test
+  public void testCommitAcrossShardsAndDeleteByIdVisitEveryShard() {
+    ShardedDataStore store = new ShardedDataStore(8);
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Member other = memberOnOtherShard(store, owner);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+
+    UnitOfWork work = store.beginWork().upsertMember(owner).upsertMember(other).upsertItem(item);
+    assertTrue(store.loadMembers().isEmpty());
+    work.commit();
+    assertEquals(2, store.loadMembers().size());
+    assertEquals(List.of(item), store.loadItems());
+
+    assertTrue(store.deleteItem(item.getItemId()));
+    assertFalse(store.deleteItem(item.getItemId()));
+    store.deleteMembers(List.of(owner.getMemberId(), other.getMemberId()));
+    assertTrue(store.loadMembers().isEmpty());
+    assertTrue(store.loadItems().isEmpty());
+  }
+
+  @Test
+  public void testLoadJoinsShardsWithoutLosingAnyone() {
+    ShardedDataStore store = new ShardedDataStore(3);
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      members.add(new Member(String.format("M%05d", i), "Member " + i, "m" + i + "@test.com",
+          "phone-" + i, 0));
+    }
+    store.saveMembers(members);
+
+    List<Member> loaded = store.loadMembers();
+    assertEquals(100, loaded.size());
+    assertEquals(new HashSet<>(members), new HashSet<>(loaded));
+    for (int i = 0; i < loaded.size(); i++) {
+      assertSame(loaded.get(i), new ArrayList<>(loaded).get(i)); // get agrees with iteration
+    }
+    assertThrows(UnsupportedOperationException.class, loaded::clear);
+    assertThrows(IndexOutOfBoundsException.class, () -> loaded.get(100));
+
+    store.saveMembers(null);
+    assertTrue(store.loadMembers().isEmpty());
+    assertEquals(100, loaded.size()); // the old version stays as it was
+  }
+
+  @Test
+  public void testConcurrentWritersToDifferentShards() throws Exception {
+    ShardedDataStore store = new ShardedDataStore(4);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> done = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        final int thread = t;
+        done.add(pool.submit(() -> {
+          for (int i = 0; i < 500; i++) {
+            String id = "T" + thread + "-" + i;
+            store.upsertMember(new Member(id, "Member " + id, id + "@test.com", "p" + id, 0));
+          }
+        }));
+      }
+      for (Future<?> future : done) {
+        future.get();
+      }
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(2000, store.loadMembers().size());
+  }
+
+  @Test
+  public void testLoadNeverSeesHalfACrossShardCommit() throws Exception {
+    ShardedDataStore store = new ShardedDataStore(8);
+    Member first = new Member("M00001", "First", "first@test.com", "111", 0);
+    Member second = memberOnOtherShard(store, first);
+    ExecutorService pool = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> writer = pool.submit(() -> {
+        for (int i = 0; i < 20000; i++) {
+          store.beginWork().upsertMember(first).upsertMember(second).commit();
+          store.deleteMembers(List.of(first.getMemberId(), second.getMemberId()));
+        }
+      });
+      while (!writer.isDone()) {
+        int size = store.loadMembers().size();
+        assertTrue(size == 0 || size == 2, "saw " + size + " of 2 members");
+      }
+      writer.get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private Member memberOnOtherShard(ShardedDataStore store, Member member) {
+    for (int i = 2; ; i++) {
+      Member other = new Member(String.format("M%05d", i), "Other " + i, "other" + i + "@test.com",
+          "phone-" + i, 0);
+      if (store.shardOf(other.getMemberId()) != store.shardOf(member.getMemberId())) {
+        return other;
+      }
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for UnitOfWork - buffering, committing and discarding changes.
+ */
+public class UnitOfWorkTest {
+  private final TimeService time = new TimeService();
+  private final Member first = new Member("M00001", "First", "first@test.com", "111", 0);
+  private final Member second = new Member("M00002", "Second", "second@test.com", "222", 0);
+
+  @Test
+  public void testChangesAreInvisibleUntilCommit() {
+    InMemoryDataStore store = new InMemoryDataStore();
+    store.upsertMember(first);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, second, time);
+
+    UnitOfWork work = store.beginWork()
+        .upsertMember(second)
+        .deleteMember("M00001")
+        .upsertItem(item);
+    assertEquals(List.of(first), store.loadMembers());
+    assertTrue(store.loadItems().isEmpty());
+
+    work.commit();
+    assertEquals(List.of(second), store.loadMembers());
+    assertEquals(List.of(item), store.loadItems());
+    assertThrows(IllegalStateException.class, work::commit);
+  }
+
+  @Test
+  public void testLastChangeToAnIdWins() {
+    InMemoryDataStore store = new InMemoryDataStore();
+    store.upsertMember(second);
+
+    store.beginWork()
+        .upsertMember(first).deleteMember("M00001")
+        .deleteMember("M00002").upsertMember(second)
+        .commit();
+    assertEquals(List.of(second), store.loadMembers());
+  }
+
+  @Test
+  public void testAbortAndCloseDiscardEverything() {
+    InMemoryDataStore store = new InMemoryDataStore();
+    try (UnitOfWork work = store.beginWork()) {
+      work.upsertMember(first);
+    }
+    UnitOfWork aborted = store.beginWork().upsertMember(second);
+    aborted.abort();
+
+    assertTrue(aborted.isEmpty());
+    assertThrows(IllegalStateException.class, () -> aborted.upsertMember(first));
+    assertThrows(IllegalStateException.class, aborted::commit);
+    assertTrue(store.loadMembers().isEmpty());
+  }
+}
@@ -0,0 +1,190 @@
+package model.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for WriteAheadLogDataStore - replaying the log after a restart.
+ */
+public class WriteAheadLogDataStoreTest {
+  @TempDir
+  Path dir;
+
+  @Test
+  public void testReplayRestoresEntitiesAndLinks() throws IOException {
+    Path log = dir.resolve("data.wal");
+    TimeService time = new TimeService();
+    String contractId;
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+      Member borrower = new Member("M00002", "Borrower", "borrower@test.com", "222", 0);
+      borrower.setCredit(100.0);
+      Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+      owner.addItem(item);
+      store.upsertMembers(List.of(owner, borrower));
+      store.upsertItem(item);
+
+      Contract contract = new Contract(borrower, item, 1, 3, new FlatRateStrategy(), time);
+      item.addContract(contract);
+      borrower.deductCredit(contract.getTotalCost());
+      store.upsertContract(contract);
+      store.upsertMember(borrower);
+      contractId = contract.getContractId();
+
+      Member removed = new Member("M00003", "Gone", "gone@test.com", "333", 0);
+      store.upsertMember(removed);
+      store.deleteMember("M00003");
+    }
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      List<Member> members = store.loadMembers();
+      assertEquals(2, members.size());
+      assertEquals(100.0, members.get(0).getCredit()); // registration bonus, not doubled
+      assertEquals(70.0, members.get(1).getCredit());
+
+      Item item = store.loadItems().get(0);
+      assertEquals("Drill", item.getName());
+      assertEquals(1, members.get(0).getOwnedItems().size());
+      assertFalse(item.isAvailable(2, 2));
+
+      Contract contract = store.loadContracts().get(0);
+      assertEquals(contractId, contract.getContractId());
+      assertEquals(30.0, contract.getTotalCost());
+    }
+  }
+
+  @Test
+  public void testTornTailIsDropped() throws IOException {
+    Path log = dir.resolve("torn.wal");
+    TimeService time = new TimeService();
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.upsertMember(new Member("M00001", "Kept", "kept@test.com", "111", 0));
+    }
+    long goodLength = Files.size(log);
+    Files.write(log, new byte[] {0, 0, 0, 40, 1, 2}, StandardOpenOption.APPEND);
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      assertEquals(1, store.loadMembers().size());
+      store.upsertMember(new Member("M00002", "Added", "added@test.com", "222", 0));
+      store.flush();
+      assertTrue(Files.size(log) > goodLength);
+    }
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      assertEquals(2, store.loadMembers().size());
+    }
+  }
+
+  @Test
+  public void testUnitOfWorkIsReplayedWholeOrNotAtAll() throws IOException {
+    Path log = dir.resolve("work.wal");
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.upsertMember(owner);
+      Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+      owner.addItem(item);
+      store.beginWork().upsertItem(item).upsertMember(owner).commit();
+    }
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      assertEquals(1, store.loadItems().size());
+      assertEquals(owner.getCredit(), store.loadMembers().get(0).getCredit());
+    }
+
+    long beforeSecondWork = Files.size(log);
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.beginWork()
+          .upsertMember(new Member("M00002", "New", "new@test.com", "222", 0))
+          .deleteItem(store.loadItems().get(0).getItemId())
+          .commit();
+    }
+    // cut the last byte off: the whole unit of work is torn, so none of it comes back
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      channel.truncate(Files.size(log) - 1);
+    }
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      assertEquals(beforeSecondWork, Files.size(log));
+      assertEquals(1, store.loadMembers().size());
+      assertEquals(1, store.loadItems().size());
+    }
+  }
+
+  @Test
+  public void testTornSaveKeepsThePreviousCollection() throws IOException {
+    Path log = dir.resolve("save.wal");
+    TimeService time = new TimeService();
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.upsertMember(new Member("M00001", "Old", "old@test.com", "111", 0));
+    }
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.saveMembers(List.of(
+          new Member("M00002", "First", "first@test.com", "222", 0),
+          new Member("M00003", "Second", "second@test.com", "333", 0)));
+    }
+    // a save torn anywhere after its clear must not leave a half refilled collection
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+      channel.truncate(Files.size(log) - 1);
+    }
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      List<Member> members = store.loadMembers();
+      assertEquals(1, members.size());
+      assertEquals("M00001", members.get(0).getMemberId());
+    }
+  }
+
+  @Test
+  public void testDeletedItemLeavesItsOwnerOnReplay() throws IOException {
+    Path log = dir.resolve("delete.wal");
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Item kept = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    Item deleted = new Item("Saw", Item.Category.TOOL, "Hand saw", 5.0, owner, time);
+    owner.addItem(kept);
+    owner.addItem(deleted);
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.upsertMember(owner);
+      store.upsertItems(List.of(kept, deleted));
+      owner.removeItem(deleted);
+      store.deleteItem(deleted.getItemId());
+    }
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      Member loaded = store.loadMembers().get(0);
+      assertEquals(1, store.loadItems().size());
+      assertEquals(1, loaded.getOwnedItems().size());
+      assertEquals(kept.getItemId(), loaded.getOwnedItems().get(0).getItemId());
+      assertEquals(owner.getCredit(), loaded.getCredit());
+    }
+  }
+
+  @Test
+  public void testAnyStoredBalanceIsReplayed() throws IOException {
+    Path log = dir.resolve("negative.wal");
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    owner.restoreCredit(-2.5); // written by an older build whose reversals could overdraw
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      store.upsertMember(owner);
+      store.upsertItem(item);
+    }
+
+    try (WriteAheadLogDataStore store = new WriteAheadLogDataStore(log, time)) {
+      assertEquals(-2.5, store.loadMembers().get(0).getCredit());
+      assertEquals(1, store.loadItems().size());
+    }
+  }
+}
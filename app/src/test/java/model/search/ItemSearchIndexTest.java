@@ -0,0 +1,69 @@
+package model.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.TimeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ItemSearchIndex - tokens, prefixes, filters and updates.
+ */
+public class ItemSearchIndexTest {
+  private ItemService itemService;
+  private Item drill;
+  private Item bike;
+  private Item saw;
+
+  @BeforeEach
+  void setUp() {
+    TimeService time = new TimeService();
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+    Member owner = memberService.createMember("Owner", "111", "owner@test.com");
+    drill = itemService.createItem("Power Drill", Item.Category.TOOL,
+        "A powerful cordless drill", 5.0, owner.getMemberId());
+    bike = itemService.createItem("Mountain Bike", Item.Category.SPORT,
+        "High-quality mountain bike", 15.0, owner.getMemberId());
+    saw = itemService.createItem("Hand saw", Item.Category.TOOL,
+        "Sharp saw for wood, works like a power tool", 3.0, owner.getMemberId());
+  }
+
+  @Test
+  public void testTokenizeSplitsOnPunctuation() {
+    assertEquals(List.of("high", "quality", "mountain", "bike"),
+        List.copyOf(ItemSearchIndex.tokenize("High-quality  mountain BIKE!")));
+    assertTrue(ItemSearchIndex.tokenize(null).isEmpty());
+  }
+
+  @Test
+  public void testPrefixTermsAreAnded() {
+    assertEquals(List.of(drill), itemService.search("cord dri", null, 10));
+    assertEquals(2, itemService.search("pow", null, 10).size());
+    assertEquals(List.of(bike), itemService.search("MOUNT", null, 10));
+    assertTrue(itemService.search("power bike", null, 10).isEmpty());
+  }
+
+  @Test
+  public void testCategoryFilterAndLimit() {
+    assertEquals(List.of(bike), itemService.search("", Item.Category.SPORT, 10));
+    assertEquals(2, itemService.search("", Item.Category.TOOL, 10).size());
+    assertEquals(1, itemService.search("", null, 1).size());
+  }
+
+  @Test
+  public void testUpdateAndDeleteAreReflected() {
+    itemService.updateItem(saw.getItemId(), "Chainsaw", Item.Category.TOOL, "Petrol", 9.0);
+    assertTrue(itemService.search("hand", null, 10).isEmpty());
+    assertEquals(List.of(saw), itemService.search("chain petrol", null, 10));
+
+    itemService.deleteItem(drill.getItemId());
+    assertTrue(itemService.search("drill", null, 10).isEmpty());
+  }
+}
@@ -0,0 +1,138 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+
+/**
+ * Multi-threaded stress tests for the service layer - checks invariants after
+ * many concurrent member, item and contract operations.
+ */
+public class ConcurrencyStressTest {
+  private static final int THREADS = 8;
+
+  @Test
+  void testConcurrentMemberCreationKeepsEmailsUnique() throws Exception {
+    MemberService memberService = new MemberService(new TimeService(), new InMemoryDataStore());
+    AtomicInteger created = new AtomicInteger();
+
+    runConcurrently(thread -> {
+      // every thread tries to claim the same 200 emails
+      for (int i = 0; i < 200; i++) {
+        try {
+          memberService.createMember("Member " + i, thread + "-" + i, "user" + i + "@test.com");
+          created.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+          // lost the race for this email
+        }
+      }
+    });
+
+    assertEquals(200, created.get());
+    assertEquals(200, memberService.getAllMembers().size());
+  }
+
+  @Test
+  void testConcurrentBookingsConserveCreditAndNeverOverlap() throws Exception {
+    TimeService time = new TimeService();
+    DataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    ItemService itemService = new ItemService(dataStore, time, memberService);
+    ContractService contractService = new ContractService(time, dataStore);
+    LendingCostStrategy strategy = new FlatRateStrategy();
+
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      Member member = memberService.createMember("M" + i, "phone" + i, "m" + i + "@test.com");
+      member.setCredit(1000.0);
+      members.add(member);
+    }
+
+    runConcurrently(thread -> {
+      Random random = new Random(thread);
+      for (int i = 0; i < 25; i++) {
+        Member owner = members.get(random.nextInt(members.size()));
+        itemService.createItem("Item", Item.Category.TOOL, "Stress item", 1.0, owner.getMemberId());
+      }
+    });
+    List<Item> items = itemService.listAllItems();
+    assertEquals(THREADS * 25, items.size());
+
+    runConcurrently(thread -> {
+      Random random = new Random(100 + thread);
+      for (int i = 0; i < 500; i++) {
+        Item item = items.get(random.nextInt(items.size()));
+        Member borrower = members.get(random.nextInt(members.size()));
+        Member owner = memberService.findMemberById(item.getOwner().getMemberId());
+        int start = random.nextInt(50);
+        try {
+          contractService.createContract(borrower, owner, item, start,
+              start + random.nextInt(4), strategy);
+        } catch (Exception e) {
+          // unavailable or not enough credit
+        }
+      }
+    });
+
+    double totalCredit = 0;
+    for (Member member : members) {
+      totalCredit += member.getCredit();
+    }
+    assertEquals(40 * 1000.0 + items.size() * 100.0, totalCredit, 1e-6);
+
+    int bookedContracts = 0;
+    for (Item item : items) {
+      List<Contract> contracts = item.getContracts();
+      bookedContracts += contracts.size();
+      for (int a = 0; a < contracts.size(); a++) {
+        for (int b = a + 1; b < contracts.size(); b++) {
+          Contract x = contracts.get(a);
+          Contract y = contracts.get(b);
+          assertFalse(x.getStartDay() <= y.getEndDay() && y.getStartDay() <= x.getEndDay(),
+              "Overlapping contracts on item " + item.getItemId());
+        }
+      }
+    }
+    assertTrue(bookedContracts > 0);
+    assertEquals(bookedContracts, dataStore.loadContracts().size());
+    assertEquals(items.size(), dataStore.loadItems().size());
+  }
+
+  private interface Worker {
+    void run(int thread) throws Exception;
+  }
+
+  private static void runConcurrently(Worker worker) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int thread = t;
+      futures.add(pool.submit(() -> {
+        start.await();
+        worker.run(thread);
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(60, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+  }
+}
@@ -0,0 +1,118 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+
+/**
+ * Unit tests for ContractScheduler - lifecycle transitions driven by the clock.
+ */
+public class ContractSchedulerTest {
+  private TimeService time;
+  private ContractService contractService;
+  private Member borrower;
+  private Member owner;
+  private Item item;
+  private List<String> fired;
+
+  @BeforeEach
+  void setUp() {
+    time = new TimeService();
+    contractService = new ContractService(time, new InMemoryDataStore());
+    owner = new Member("M00001", "Owner", "owner@example.com", "111", 0);
+    borrower = new Member("M00002", "Borrower", "borrower@example.com", "222", 0);
+    borrower.setCredit(500.0);
+    item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+    fired = new ArrayList<>();
+    contractService.subscribe(
+        (contract, transition, day) -> fired.add(transition + "@" + day));
+  }
+
+  @Test
+  void testTransitionsFireOnTheirDay() throws Exception {
+    Contract contract = contractService.createContract(
+        borrower, owner, item, 2, 3, new FlatRateStrategy());
+    assertEquals(Contract.Status.BOOKED, contract.getStatus());
+    assertEquals(3, contractService.getPendingTransitions());
+
+    time.advanceDay();
+    assertTrue(fired.isEmpty());
+
+    time.advanceDay();
+    assertEquals(Contract.Status.ACTIVE, contract.getStatus());
+    assertEquals(List.of("STARTED@2"), fired);
+
+    time.advanceDay();
+    time.advanceDay();
+    assertEquals(Contract.Status.RETURNED, contract.getStatus());
+    assertTrue(contract.isReturned());
+    assertEquals(List.of("STARTED@2", "RETURNED@4", "EXPIRED@4"), fired);
+    assertEquals(0, contractService.getPendingTransitions());
+  }
+
+  @Test
+  void testAdvanceDaysCatchesUpInOrder() throws Exception {
+    Contract first = contractService.createContract(
+        borrower, owner, item, 1, 2, new FlatRateStrategy());
+    Contract second = contractService.createContract(
+        borrower, owner, item, 5, 6, new FlatRateStrategy());
+
+    time.advanceDays(10);
+
+    assertEquals(10, time.getCurrentDay());
+    assertTrue(first.isReturned());
+    assertTrue(second.isReturned());
+    assertEquals(List.of("STARTED@1", "RETURNED@3", "EXPIRED@3",
+        "STARTED@5", "RETURNED@7", "EXPIRED@7"), fired);
+  }
+
+  @Test
+  void testExpiredBookingKeepsHistory() throws Exception {
+    contractService.createContract(borrower, owner, item, 0, 1, new FlatRateStrategy());
+    assertFalse(item.isAvailable(0, 1));
+
+    time.advanceDays(2);
+
+    assertTrue(item.isAvailable(0, 1));
+    assertEquals(1, item.contractViews().size());
+  }
+
+  @Test
+  void testLoadedContractsCatchUpWithTheClock() throws Exception {
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    ContractService first = new ContractService(time, dataStore);
+    Contract contract = first.createContract(borrower, owner, item, 0, 0, new FlatRateStrategy());
+    assertEquals(Contract.Status.ACTIVE, contract.getStatus());
+
+    time.advanceDays(3);
+    first.close();
+    ContractService reloaded = new ContractService(time, dataStore);
+
+    assertEquals(0, reloaded.getPendingTransitions());
+    assertTrue(reloaded.getAllContracts().get(0).isReturned());
+  }
+
+  @Test
+  void testClosedServiceStopsFollowingTheClock() throws Exception {
+    Contract contract = contractService.createContract(
+        borrower, owner, item, 1, 1, new FlatRateStrategy());
+    contractService.close();
+
+    time.advanceDays(3);
+
+    assertEquals(Contract.Status.BOOKED, contract.getStatus());
+    assertTrue(fired.isEmpty());
+  }
+
+  @Test
+  void testAdvanceDaysRejectsNonPositive() {
+    assertThrows(IllegalArgumentException.class, () -> time.advanceDays(0));
+  }
+}
@@ -1,6 +1,7 @@
 package model.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import model.FlatRateStrategy;
@@ -10,6 +11,7 @@ import model.entity.Item;
 import model.entity.Member;
 import model.persistence.DataStore;
 import model.persistence.InMemoryDataStore;
+import model.persistence.UnitOfWork;
 
 /**
  * Unit tests for ContractService - focusing on atomic credit transfers.
@@ -186,4 +188,73 @@ public class ContractServiceTest {
     assertTrue(item.getContracts().contains(contract1));
     assertTrue(item.getContracts().contains(contract2));
   }
+
+  @Test
+  void testBatchBookingReportsEachOutcome() throws Exception {
+    int today = timeService.getCurrentDay();
+    Member poor = new Member("Poor", "poor@example.com", "555-555-5555", today);
+    poor.setCredit(5.0);
+
+    List<ContractOutcome> outcomes = contractService.createContracts(List.of(
+        new ContractRequest(borrower, owner, item, today, today + 1, strategy),     // 20, booked
+        new ContractRequest(borrower, owner, item, today + 1, today + 2, strategy), // overlaps the first
+        new ContractRequest(poor, owner, item, today + 5, today + 5, strategy),     // 10, too expensive
+        new ContractRequest(borrower, owner, item, today + 3, today + 2, strategy), // reversed days
+        new ContractRequest(borrower, owner, item, today + 3, today + 3, strategy))); // 10, booked
+
+    assertEquals(5, outcomes.size());
+    assertTrue(outcomes.get(0).isBooked());
+    assertEquals("Item is not available", outcomes.get(1).getFailureReason());
+    assertEquals("Insufficient credit", outcomes.get(2).getFailureReason());
+    assertEquals("Start day is after end day", outcomes.get(3).getFailureReason());
+    assertTrue(outcomes.get(4).isBooked());
+    assertNull(outcomes.get(1).getContract());
+
+    assertEquals(170.0, borrower.getCredit());
+    assertEquals(30.0, owner.getCredit());
+    assertEquals(5.0, poor.getCredit());
+    assertEquals(2, item.getContracts().size());
+    assertEquals(2, dataStore.loadContracts().size());
+    assertEquals(2, dataStore.loadMembers().size());
+  }
+
+  @Test
+  void testBatchIsUndoneWhenPersistingFails() {
+    ContractService service = new ContractService(timeService, failingStore());
+    int today = timeService.getCurrentDay();
+
+    assertThrows(Exception.class, () -> service.createContracts(List.of(
+        new ContractRequest(borrower, owner, item, today, today + 1, strategy))));
+
+    assertEquals(200.0, borrower.getCredit());
+    assertEquals(0.0, owner.getCredit());
+    assertTrue(item.getContracts().isEmpty());
+  }
+
+  @Test
+  void testContractIsUndoneWhenPersistingFails() {
+    DataStore failing = failingStore();
+    ContractService service = new ContractService(timeService, failing);
+    int today = timeService.getCurrentDay();
+
+    assertThrows(Exception.class,
+        () -> service.createContract(borrower, owner, item, today, today + 2, strategy));
+
+    assertEquals(200.0, borrower.getCredit());
+    assertEquals(0.0, owner.getCredit());
+    assertTrue(item.getContracts().isEmpty());
+    assertTrue(item.isAvailable(today, today + 2));
+    assertTrue(failing.loadContracts().isEmpty());
+    assertTrue(failing.loadMembers().isEmpty());
+    assertTrue(service.getAllContracts().isEmpty());
+  }
+
+  private static DataStore failingStore() {
+    return new InMemoryDataStore() {
+      @Override
+      public void commit(UnitOfWork work) {
+        throw new IllegalStateException("disk full");
+      }
+    };
+  }
 }
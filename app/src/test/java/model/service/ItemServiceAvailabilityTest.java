@@ -0,0 +1,97 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ItemService.findAvailable - the cross-item availability scan.
+ */
+public class ItemServiceAvailabilityTest {
+  private ItemService itemService;
+  private final List<Item> tools = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    TimeService time = new TimeService();
+    DataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+    ContractService contractService = new ContractService(time, dataStore);
+    Member owner = memberService.createMember("Owner", "111", "owner@test.com");
+    Member borrower = memberService.createMember("Borrower", "222", "borrower@test.com");
+    borrower.setCredit(100_000.0);
+
+    for (int i = 0; i < 300; i++) {
+      Item tool = itemService.createItem("Tool " + i, Item.Category.TOOL, "Tool", 1.0,
+          owner.getMemberId());
+      tools.add(tool);
+      if (i % 3 == 0) {
+        // every third tool is booked over day 12
+        contractService.createContract(borrower, owner, tool, 11, 13, new FlatRateStrategy());
+      }
+    }
+    itemService.createItem("Bike", Item.Category.SPORT, "Bike", 1.0, owner.getMemberId());
+  }
+
+  @Test
+  public void testFindsOnlyFreeItemsOfTheCategory() {
+    List<Item> free = itemService.findAvailable(Item.Category.TOOL, 10, 14, 1000);
+
+    assertEquals(200, free.size());
+    for (Item item : free) {
+      assertEquals(Item.Category.TOOL, item.getCategory());
+      assertTrue(item.isAvailable(10, 14));
+    }
+    for (int i = 1; i < free.size(); i++) {
+      assertTrue(free.get(i - 1).getItemId().compareTo(free.get(i).getItemId()) < 0);
+    }
+    assertEquals(201, itemService.findAvailable(null, 10, 14, 1000).size());
+    assertEquals(300, itemService.findAvailable(Item.Category.TOOL, 20, 30, 1000).size());
+  }
+
+  @Test
+  public void testStopsAtTheLimit() {
+    Queue<Item> streamed = new ConcurrentLinkedQueue<>();
+    itemService.findAvailable(Item.Category.TOOL, 10, 14, 7, streamed::add);
+
+    assertEquals(7, streamed.size());
+    assertEquals(5, itemService.findAvailable(Item.Category.TOOL, 10, 14, 5).size());
+    assertThrows(IllegalArgumentException.class,
+        () -> itemService.findAvailable(Item.Category.TOOL, 14, 10, 5));
+  }
+
+  @Test
+  public void testLimitKeepsTheLowestFreeIds() {
+    List<Item> expected = tools.stream()
+        .filter(tool -> tool.isAvailable(10, 14))
+        .sorted(Comparator.comparing(Item::getItemId))
+        .limit(5)
+        .collect(Collectors.toList());
+
+    for (int i = 0; i < 20; i++) {
+      assertEquals(expected, itemService.findAvailable(Item.Category.TOOL, 10, 14, 5));
+    }
+  }
+
+  @Test
+  public void testCategoryChangeMovesTheItem() {
+    Item tool = tools.get(1);
+    itemService.updateItem(tool.getItemId(), tool.getName(), Item.Category.GAME, "Game", 1.0);
+
+    assertEquals(List.of(tool), itemService.findAvailable(Item.Category.GAME, 0, 1, 10));
+    assertFalse(itemService.findAvailable(Item.Category.TOOL, 10, 14, 1000).contains(tool));
+  }
+}
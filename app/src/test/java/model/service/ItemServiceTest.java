@@ -0,0 +1,62 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import model.persistence.UnitOfWork;
+
+/**
+ * Unit tests for ItemService - focusing on creating and deleting items.
+ */
+public class ItemServiceTest {
+  private final AtomicBoolean diskFull = new AtomicBoolean();
+  private MemberService memberService;
+  private ItemService itemService;
+
+  @BeforeEach
+  void setUp() {
+    InMemoryDataStore dataStore = new InMemoryDataStore() {
+      @Override
+      public void commit(UnitOfWork work) {
+        if (diskFull.get()) {
+          throw new IllegalStateException("disk full");
+        }
+        super.commit(work);
+      }
+    };
+    TimeService time = new TimeService();
+    memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+  }
+
+  @Test
+  void testFailedCreateLeavesNothingBehind() {
+    Member owner = memberService.createMember("John", "111", "john@example.com");
+    double credit = owner.getCredit();
+    diskFull.set(true);
+
+    assertThrows(IllegalStateException.class, () ->
+        itemService.createItem("Drill", Item.Category.TOOL, "Cordless", 10.0, owner.getMemberId()));
+
+    assertTrue(itemService.listAllItems().isEmpty());
+    assertTrue(itemService.search("Drill", null, 10).isEmpty());
+    assertEquals(0, owner.getOwnedItemCount());
+    assertEquals(credit, owner.getCredit());
+  }
+
+  @Test
+  void testDeleteUnlinksTheItemFromItsOwner() {
+    Member owner = memberService.createMember("John", "111", "john@example.com");
+    Item item = itemService.createItem("Drill", Item.Category.TOOL, "Cordless", 10.0,
+        owner.getMemberId());
+
+    assertTrue(itemService.deleteItem(item.getItemId()));
+
+    assertNull(itemService.findItemById(item.getItemId()));
+    assertEquals(0, owner.getOwnedItemCount());
+  }
+}
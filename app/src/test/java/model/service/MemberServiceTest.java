@@ -0,0 +1,58 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+
+/**
+ * Unit tests for MemberService - focusing on email and phone uniqueness.
+ */
+public class MemberServiceTest {
+  private MemberService memberService;
+
+  @BeforeEach
+  void setUp() {
+    memberService = new MemberService(new TimeService(), new InMemoryDataStore());
+  }
+
+  @Test
+  void testDuplicateEmailIsRejectedAfterNormalization() {
+    memberService.createMember("John", "111-111", "john@example.com");
+    assertThrows(IllegalArgumentException.class, () ->
+        memberService.createMember("Other", "222-222", " John@Example.com "));
+    // the failed attempt must not keep the phone reserved
+    assertNotNull(memberService.createMember("Other", "222-222", "other@example.com"));
+  }
+
+  @Test
+  void testDuplicatePhoneIsRejectedAfterNormalization() {
+    memberService.createMember("John", "070-123 45 67", "john@example.com");
+    assertThrows(IllegalArgumentException.class, () ->
+        memberService.createMember("Other", "0701234567", "other@example.com"));
+    // the failed attempt must not keep the email reserved
+    assertNotNull(memberService.createMember("Other", "0709999999", "other@example.com"));
+  }
+
+  @Test
+  void testUpdateMovesReservations() {
+    Member john = memberService.createMember("John", "111", "john@example.com");
+    Member jane = memberService.createMember("Jane", "222", "jane@example.com");
+
+    memberService.updateMember(john.getMemberId(), "John", "333", "johnny@example.com");
+    // John's old values are free again, the new ones are taken
+    assertNotNull(memberService.createMember("Jim", "111", "john@example.com"));
+    assertThrows(IllegalArgumentException.class, () ->
+        memberService.updateMember(jane.getMemberId(), "Jane", "333", "jane@example.com"));
+    // keeping your own values is not a conflict
+    assertNotNull(memberService.updateMember(jane.getMemberId(), "Jane B", "222", "jane@example.com"));
+  }
+
+  @Test
+  void testDeleteReleasesReservations() {
+    Member john = memberService.createMember("John", "111", "john@example.com");
+    assertTrue(memberService.deleteMemberById(john.getMemberId()));
+    assertNotNull(memberService.createMember("John", "111", "john@example.com"));
+  }
+}
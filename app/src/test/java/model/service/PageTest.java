@@ -0,0 +1,75 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for Page - walking cursors over a changing index.
+ */
+public class PageTest {
+
+  @Test
+  public void testCursorsVisitEveryEntryOnce() {
+    ConcurrentSkipListMap<String, Integer> index = new ConcurrentSkipListMap<>();
+    for (int i = 0; i < 95; i++) {
+      index.put(String.format("K%03d", i), i);
+    }
+
+    List<Integer> seen = new ArrayList<>();
+    String cursor = null;
+    int pages = 0;
+    do {
+      Page<Integer> page = Page.of(index, cursor, 10);
+      seen.addAll(page.getEntries());
+      cursor = page.getNextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(10, pages);
+    assertEquals(95, seen.size());
+    assertEquals(94, seen.get(94));
+  }
+
+  @Test
+  public void testLaterPagesIgnoreChangesBeforeTheCursor() {
+    ConcurrentSkipListMap<String, Integer> index = new ConcurrentSkipListMap<>();
+    for (int i = 0; i < 6; i++) {
+      index.put("K" + i, i);
+    }
+
+    Page<Integer> first = Page.of(index, null, 3);
+    index.remove("K0");
+    index.put("K00", -1);
+    Page<Integer> second = Page.of(index, first.getNextCursor(), 3);
+
+    assertEquals(List.of(0, 1, 2), first.getEntries());
+    assertEquals(List.of(3, 4, 5), second.getEntries());
+    assertFalse(second.hasNext());
+    assertThrows(IllegalArgumentException.class, () -> Page.of(index, null, 0));
+  }
+
+  @Test
+  public void testMemberServicePagesAndStreamsInIdOrder() {
+    MemberService service = new MemberService(new TimeService(), new InMemoryDataStore());
+    for (int i = 0; i < 25; i++) {
+      service.createMember("Member " + i, "phone" + i, "m" + i + "@test.com");
+    }
+
+    List<String> streamed = service.streamMembers().map(Member::getMemberId)
+        .collect(Collectors.toList());
+    Page<Member> first = service.pageMembers(null, 20);
+    Page<Member> second = service.pageMembers(first.getNextCursor(), 20);
+
+    assertEquals(25, streamed.size());
+    assertEquals(streamed.stream().sorted().collect(Collectors.toList()), streamed);
+    assertEquals(streamed.get(20), second.getEntries().get(0).getMemberId());
+    assertEquals(5, second.getEntries().size());
+    assertNull(second.getNextCursor());
+  }
+}
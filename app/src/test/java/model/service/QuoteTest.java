@@ -0,0 +1,120 @@
+package model.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import model.CachingCostStrategy;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+
+/**
+ * Unit tests for ContractService.quote and the cached cost strategy.
+ */
+public class QuoteTest {
+  private TimeService time;
+  private ItemService itemService;
+  private ContractService contractService;
+  private Member owner;
+  private Member borrower;
+  private Item item;
+  private AtomicInteger pricings;
+  private LendingCostStrategy counting;
+
+  @BeforeEach
+  void setUp() {
+    time = new TimeService();
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+    contractService = new ContractService(time, dataStore, memberService, itemService);
+    owner = memberService.createMember("Owner", "111", "owner@example.com");
+    borrower = memberService.createMember("Borrower", "222", "borrower@example.com");
+    borrower.setCredit(50.0);
+    item = itemService.createItem("Drill", Item.Category.TOOL, "Cordless drill", 10.0,
+        owner.getMemberId());
+    pricings = new AtomicInteger();
+    counting = (it, days) -> {
+      pricings.incrementAndGet();
+      return it.getCostPerDay() * days;
+    };
+  }
+
+  @Test
+  void testQuotePricesOnceWithoutContract() {
+    Quote quote = contractService.quote(borrower.getMemberId(), item.getItemId(), 0, 2, counting);
+
+    assertTrue(quote.isBookable());
+    assertEquals(30.0, quote.getCost(), 0.001);
+    assertEquals(1, pricings.get());
+    assertTrue(contractService.getAllContracts().isEmpty());
+  }
+
+  @Test
+  void testQuoteVerdicts() throws Exception {
+    String borrowerId = borrower.getMemberId();
+    String itemId = item.getItemId();
+    assertEquals("Insufficient credit",
+        contractService.quote(borrowerId, itemId, 0, 9, counting).getRejection());
+    assertEquals(100.0, contractService.quote(borrowerId, itemId, 0, 9, counting).getCost(), 0.001);
+    assertEquals("Start day is after end day",
+        contractService.quote(borrowerId, itemId, 3, 2, counting).getRejection());
+
+    contractService.createContract(borrower, owner, item, 1, 2, new FlatRateStrategy());
+    assertEquals("Item is not available",
+        contractService.quote(borrowerId, itemId, 2, 3, counting).getRejection());
+    time.advanceDay();
+    assertEquals("Start day is in the past",
+        contractService.quote(borrowerId, itemId, 0, 0, counting).getRejection());
+    assertThrows(IllegalArgumentException.class,
+        () -> contractService.quote("NOPE00", itemId, 1, 1, counting));
+  }
+
+  @Test
+  void testCachedPriceIsReusedUntilRateChanges() {
+    CachingCostStrategy cached = new CachingCostStrategy(counting);
+    assertEquals(30.0, cached.calcLendingCost(item, 3), 0.001);
+    assertEquals(30.0, cached.calcLendingCost(item, 3), 0.001);
+    assertEquals(1, pricings.get());
+
+    itemService.updateItem(item.getItemId(), "Drill", Item.Category.TOOL, "Cordless drill", 12.0);
+    assertEquals(36.0, cached.calcLendingCost(item, 3), 0.001);
+    assertEquals(2, pricings.get());
+    assertEquals(1, cached.size());
+  }
+
+  @Test
+  void testCachedPricesAreForgottenWhenTheItemChanges() {
+    CachingCostStrategy cached = new CachingCostStrategy(counting);
+    itemService.subscribe(cached::forget);
+    cached.calcLendingCost(item, 3);
+
+    itemService.updateItem(item.getItemId(), "Drill", Item.Category.TOOL, "Renamed", 10.0);
+    assertEquals(0, cached.size());
+    cached.calcLendingCost(item, 3);
+    assertEquals(2, pricings.get());
+
+    itemService.deleteItem(item.getItemId());
+    assertEquals(0, cached.size());
+  }
+
+  @Test
+  void testCacheIsBounded() {
+    CachingCostStrategy cached = new CachingCostStrategy(counting, 2);
+    for (int i = 0; i < 5; i++) {
+      Item other = itemService.createItem("Saw " + i, Item.Category.TOOL, "Hand saw", 1.0,
+          owner.getMemberId());
+      assertEquals(3.0, cached.calcLendingCost(other, 3), 0.001);
+    }
+    assertEquals(2, cached.size());
+
+    // periods past the table are priced every time
+    int before = pricings.get();
+    cached.calcLendingCost(item, CachingCostStrategy.MAX_DAYS + 1);
+    cached.calcLendingCost(item, CachingCostStrategy.MAX_DAYS + 1);
+    assertEquals(before + 2, pricings.get());
+  }
+}
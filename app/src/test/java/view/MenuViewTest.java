@@ -0,0 +1,64 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.NoSuchElementException;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for MenuView in batch mode.
+ */
+public class MenuViewTest {
+
+  @Test
+  void testBatchSkipsPausesAndPrompts() {
+    StringWriter output = new StringWriter();
+    MenuView view = new MenuView(new BufferedReader(new StringReader("7\nx\n3.5\n")),
+        new PrintWriter(output), true);
+
+    assertEquals(7, view.getUserChoice());
+    assertTrue(view.continueSession());
+    assertTrue(view.promptNextPage());
+    assertEquals(3.5, view.promptDouble("Cost:"), 0.001);
+    view.flush();
+
+    assertEquals("Invalid decimal number, please try again." + System.lineSeparator(),
+        output.toString());
+  }
+
+  @Test
+  void testBatchOutputWaitsForFlush() {
+    StringWriter output = new StringWriter();
+    MenuView view = new MenuView(new BufferedReader(new StringReader("")),
+        new PrintWriter(new BufferedWriter(output)), true);
+
+    view.displayMessage("hello");
+    assertThrows(NoSuchElementException.class, () -> view.prompt("Name:"));
+    assertEquals("", output.toString());
+    view.flush();
+    assertEquals("hello" + System.lineSeparator(), output.toString());
+  }
+
+  @Test
+  void testBatchListingWaitsForFlush() {
+    StringWriter output = new StringWriter();
+    MenuView view = new MenuView(new BufferedReader(new StringReader("")),
+        new PrintWriter(new BufferedWriter(output)), true);
+    TimeService time = new TimeService();
+    Member owner = new Member("M00001", "Owner", "owner@test.com", "111", 0);
+    Item item = new Item("Drill", Item.Category.TOOL, "Cordless drill", 10.0, owner, time);
+
+    view.displayItems(List.of(item.view()));
+    assertEquals("", output.toString());
+    view.flush();
+    assertTrue(output.toString().contains("Drill"));
+  }
+}
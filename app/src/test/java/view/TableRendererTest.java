@@ -0,0 +1,62 @@
+package view;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TableRenderer.
+ */
+public class TableRendererTest {
+  private static final String NL = System.lineSeparator();
+
+  private final TableRenderer<String[]> table = new TableRenderer<>(List.of(
+      new TableRenderer.Column<String[]>("Name", 6, row -> row[0]),
+      new TableRenderer.Column<String[]>("ID", 2, row -> row[1])));
+
+  @Test
+  void testColumnsArePaddedExceptTheLast() {
+    StringWriter output = new StringWriter();
+    table.renderPage("== T ==", List.of(new String[] {"Ann", "1"}, new String[] {"Bo", "22"}),
+        new PrintWriter(output));
+
+    assertEquals(NL + "== T ==" + NL
+        + "Name    ID" + NL
+        + "Ann     1" + NL
+        + "Bo      22" + NL, output.toString());
+  }
+
+  @Test
+  void testLongValuesAreKeptWhole() {
+    StringWriter output = new StringWriter();
+    table.renderPage("T", List.<String[]>of(new String[] {"Bartholomew", "3"}),
+        new PrintWriter(output));
+
+    assertTrue(output.toString().contains("Bartholomew  3" + NL));
+  }
+
+  @Test
+  void testBufferIsReusedAcrossPages() {
+    StringWriter output = new StringWriter();
+    PrintWriter writer = new PrintWriter(output);
+    table.renderPage("A", List.<String[]>of(new String[] {"x", "1"}), writer);
+    table.renderPage("B", List.<String[]>of(), writer);
+
+    assertEquals(NL + "A" + NL + "Name    ID" + NL + "x       1" + NL
+        + NL + "B" + NL + "Name    ID" + NL, output.toString());
+  }
+
+  @Test
+  void testPagesLargerThanTheInitialBufferAreWrittenWhole() {
+    String longName = "n".repeat(3000);
+    StringWriter output = new StringWriter();
+    PrintWriter writer = new PrintWriter(output);
+    table.renderPage("A", List.<String[]>of(new String[] {longName, "1"}), writer);
+    table.renderPage("B", List.<String[]>of(new String[] {"x", "2"}), writer);
+
+    assertEquals(NL + "A" + NL + "Name    ID" + NL + longName + "  1" + NL
+        + NL + "B" + NL + "Name    ID" + NL + "x       2" + NL, output.toString());
+  }
+}
@@ -0,0 +1,92 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+import model.service.ContractService;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures ContractService.createContract on 100 items that already carry
+ * the given number of contracts between them. Every booking takes the next
+ * free one-day slot of the next item, so no booking is ever rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContractServiceBenchmark {
+  private static final int ITEMS = 100;
+
+  @Param({"100", "1000", "10000"})
+  public int contracts;
+
+  private final LendingCostStrategy strategy = new FlatRateStrategy();
+  private final List<Item> items = new ArrayList<>();
+  private ContractService contractService;
+  private Member owner;
+  private Member borrower;
+  private int next;
+
+  /**
+   * Builds a fresh service for every iteration.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() throws Exception {
+    TimeService time = new TimeService();
+    DataStore dataStore = new InMemoryDataStore();
+    contractService = new ContractService(time, dataStore);
+    owner = new Member("OWNER1", "Owner", "owner@bench.com", "111", 0);
+    borrower = new Member("BORRW1", "Borrower", "borrower@bench.com", "222", 0);
+    borrower.setCredit(1_000_000_000.0);
+    items.clear();
+    for (int i = 0; i < ITEMS; i++) {
+      Item item = new Item("Item " + i, Item.Category.TOOL, "Benchmark item", 1.0, owner, time);
+      owner.addItem(item);
+      items.add(item);
+    }
+    for (next = 0; next < contracts; next++) {
+      book(next);
+    }
+  }
+
+  /**
+   * Detaches the iteration's service from its clock.
+   */
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    contractService.close();
+  }
+
+  private Contract book(int n) throws Exception {
+    int day = 2 * (n / ITEMS);
+    return contractService.createContract(borrower, owner, items.get(n % ITEMS), day, day,
+        strategy);
+  }
+
+  /**
+   * Books the next free slot.
+   *
+   * @return the created contract
+   */
+  @Benchmark
+  public Contract createContract() throws Exception {
+    return book(next++);
+  }
+}
@@ -0,0 +1,124 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shows how load and save costs scale with the number of members, for the
+ * persistent store ("persistent", the current InMemoryDataStore) against the
+ * old store that kept a LinkedHashMap under a lock and copied it into a new
+ * ArrayList on every load ("copying"). The copying store's load grows with n;
+ * the persistent store's load stays flat and its upsert grows with log n.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DataStoreBenchmark {
+  @Param({"1000", "10000", "100000"})
+  public int members;
+
+  @Param({"copying", "persistent"})
+  public String store;
+
+  private final List<Member> population = new ArrayList<>();
+  private CopyingStore copying;
+  private InMemoryDataStore persistent;
+  private int next;
+
+  /**
+   * The old InMemoryDataStore member table, kept here as the baseline.
+   */
+  static final class CopyingStore {
+    private final Map<String, Member> members = new LinkedHashMap<>();
+
+    synchronized List<Member> loadMembers() {
+      return new ArrayList<>(members.values());
+    }
+
+    synchronized void upsertMember(Member member) {
+      members.put(member.getMemberId(), member);
+    }
+
+    synchronized void saveMembers(List<Member> all) {
+      members.clear();
+      for (Member member : all) {
+        members.put(member.getMemberId(), member);
+      }
+    }
+  }
+
+  /**
+   * Fills both stores with the same members.
+   */
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < members; i++) {
+      population.add(new Member(String.format("B%05d", i), "Member " + i,
+          "member" + i + "@bench.com", "phone-" + i, 0));
+    }
+    copying = new CopyingStore();
+    copying.saveMembers(population);
+    persistent = new InMemoryDataStore();
+    persistent.saveMembers(population);
+  }
+
+  /**
+   * Takes a snapshot of all members.
+   *
+   * @return the snapshot
+   */
+  @Benchmark
+  public List<Member> load() {
+    return "copying".equals(store) ? copying.loadMembers() : persistent.loadMembers();
+  }
+
+  /**
+   * Replaces one existing member.
+   */
+  @Benchmark
+  public void upsert() {
+    Member member = population.get(next++ % members);
+    if ("copying".equals(store)) {
+      copying.upsertMember(member);
+    } else {
+      persistent.upsertMember(member);
+    }
+  }
+
+  /**
+   * Replaces one member and then lists everything, the pattern a listing
+   * between writes sees.
+   *
+   * @return the snapshot
+   */
+  @Benchmark
+  public List<Member> upsertThenLoad() {
+    upsert();
+    return load();
+  }
+
+  /**
+   * Replaces the whole collection.
+   */
+  @Benchmark
+  public void save() {
+    if ("copying".equals(store)) {
+      copying.saveMembers(population);
+    } else {
+      persistent.saveMembers(population);
+    }
+  }
+}
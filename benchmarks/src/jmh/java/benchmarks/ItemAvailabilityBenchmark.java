@@ -0,0 +1,67 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import model.FlatRateStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures Item.isAvailable on an item with the given number of one-day
+ * bookings on every other day. The queried ranges are random, so about half
+ * of them hit a booking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemAvailabilityBenchmark {
+  private static final int QUERIES = 1024;
+
+  @Param({"10", "1000", "100000"})
+  public int contracts;
+
+  private Item item;
+  private final int[] starts = new int[QUERIES];
+  private int next;
+
+  /**
+   * Books the item and prepares the query ranges.
+   */
+  @Setup
+  public void setUp() {
+    TimeService time = new TimeService();
+    Member owner = new Member("OWNER1", "Owner", "owner@bench.com", "111", 0);
+    Member borrower = new Member("BORRW1", "Borrower", "borrower@bench.com", "222", 0);
+    borrower.setCredit(1_000_000_000.0);
+    item = new Item("Item", Item.Category.TOOL, "Benchmark item", 1.0, owner, time);
+    FlatRateStrategy strategy = new FlatRateStrategy();
+    for (int i = 0; i < contracts; i++) {
+      item.addContract(new Contract(borrower, item, 2 * i, 2 * i, strategy, time));
+    }
+    Random random = new Random(42);
+    for (int i = 0; i < QUERIES; i++) {
+      starts[i] = random.nextInt(2 * contracts);
+    }
+  }
+
+  /**
+   * Checks one single-day range.
+   *
+   * @return whether the range was free
+   */
+  @Benchmark
+  public boolean isAvailable() {
+    int start = starts[next++ & (QUERIES - 1)];
+    return item.isAvailable(start, start);
+  }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.entity.Item;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures ItemService.createItem with the given number of items already
+ * spread over 100 owners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ItemServiceBenchmark {
+  private static final int OWNERS = 100;
+
+  @Param({"100", "1000", "10000"})
+  public int items;
+
+  private ItemService itemService;
+  private final List<String> ownerIds = new ArrayList<>();
+  private int next;
+
+  /**
+   * Builds a fresh service for every iteration.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    TimeService time = new TimeService();
+    DataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+    ownerIds.clear();
+    for (int i = 0; i < OWNERS; i++) {
+      ownerIds.add(memberService.createMember("Owner " + i, "phone-" + i, "owner" + i + "@bench.com")
+          .getMemberId());
+    }
+    for (int i = 0; i < items; i++) {
+      itemService.createItem("Item " + i, Item.Category.TOOL, "Benchmark item", 5.0,
+          ownerIds.get(i % OWNERS));
+    }
+    next = items;
+  }
+
+  /**
+   * Creates one item for the next owner in turn.
+   *
+   * @return the created item
+   */
+  @Benchmark
+  public Item createItem() {
+    int n = next++;
+    return itemService.createItem("Item " + n, Item.Category.TOOL, "Benchmark item", 5.0,
+        ownerIds.get(n % OWNERS));
+  }
+}
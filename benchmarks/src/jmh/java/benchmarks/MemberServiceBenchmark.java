@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import model.entity.Member;
+import model.persistence.InMemoryDataStore;
+import model.service.MemberService;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures MemberService.createMember against a store that already holds
+ * the given number of members.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberServiceBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int members;
+
+  private MemberService memberService;
+  private long next;
+
+  /**
+   * Builds a fresh service for every iteration so the store size stays close
+   * to the parameter.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    memberService = new MemberService(new TimeService(), new InMemoryDataStore());
+    for (int i = 0; i < members; i++) {
+      memberService.createMember("Member " + i, "phone-" + i, "member" + i + "@bench.com");
+    }
+    next = members;
+  }
+
+  /**
+   * Creates one member with a fresh email and phone number.
+   *
+   * @return the created member
+   */
+  @Benchmark
+  public Member createMember() {
+    long n = next++;
+    return memberService.createMember("Member " + n, "phone-" + n, "member" + n + "@bench.com");
+  }
+}
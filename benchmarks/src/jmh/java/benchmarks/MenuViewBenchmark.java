@@ -0,0 +1,70 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.entity.Item;
+import model.entity.ItemView;
+import model.entity.Member;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import view.MenuView;
+
+/**
+ * Measures listing items the way ItemController does: building a view per
+ * item and passing them to MenuView.displayItems as one page. The view writes
+ * to a discarding stream, so the numbers cover rendering and one flush per
+ * page, not the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MenuViewBenchmark {
+  @Param({"10", "100", "1000"})
+  public int items;
+
+  private final List<Item> list = new ArrayList<>();
+  private MenuView view;
+
+  /**
+   * Builds the item list and a view that discards its output.
+   */
+  @Setup
+  public void setUp() {
+    TimeService time = new TimeService();
+    for (int i = 0; i < items; i++) {
+      Member owner = new Member(String.format("M%05d", i), "Owner " + i,
+          "owner" + i + "@bench.com", "phone-" + i, 0);
+      list.add(new Item("Item " + i, Item.Category.TOOL, "Benchmark item", 1.0, owner, time));
+    }
+    view = new MenuView(new BufferedReader(new StringReader("")), new PrintWriter(
+        new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8)), true,
+        items);
+  }
+
+  /**
+   * Builds the views, prints the whole list and flushes it.
+   */
+  @Benchmark
+  public void displayItems() {
+    List<ItemView> views = new ArrayList<>(list.size());
+    for (Item item : list) {
+      views.add(item.view());
+    }
+    view.displayItems(views);
+    view.flush();
+  }
+}
@@ -0,0 +1,117 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Contract;
+import model.entity.Item;
+import model.entity.Member;
+import model.persistence.DataStore;
+import model.persistence.MappedSnapshotDataStore;
+import model.persistence.WriteAheadLogDataStore;
+import model.service.TimeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures what service startup costs the store: opening it and loading every
+ * member, item and contract, as the service constructors do. The same data is
+ * read from a write-ahead log ("wal", replayed record by record) and from a
+ * mapped snapshot ("snapshot", fixed-width rows and a shared string table).
+ * Both stores still build every object; the snapshot only makes each one cheaper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupLoadBenchmark {
+  @Param({"1000", "10000", "100000"})
+  public int members;
+
+  @Param({"wal", "snapshot"})
+  public String store;
+
+  private final TimeService time = new TimeService();
+  private Path dir;
+  private Path file;
+
+  /**
+   * Writes one member, one item and one contract per member to the store's file.
+   */
+  @Setup
+  public void setUp() throws IOException {
+    LendingCostStrategy strategy = new FlatRateStrategy();
+    List<Member> population = new ArrayList<>();
+    List<Item> items = new ArrayList<>();
+    List<Contract> contracts = new ArrayList<>();
+    for (int i = 0; i < members; i++) {
+      Member member = new Member(String.format("S%06d", i), "Member " + i,
+          "member" + i + "@bench.com", "phone-" + i, 0);
+      member.setCredit(1_000_000.0);
+      population.add(member);
+    }
+    for (int i = 0; i < members; i++) {
+      Member owner = population.get(i);
+      Item item = new Item("Item " + i, Item.Category.TOOL, "Benchmark item", 1.0, owner, time);
+      owner.addItem(item);
+      items.add(item);
+      Contract contract = new Contract(population.get((i + 1) % members), item, 1, 2, strategy,
+          time);
+      item.addContract(contract);
+      contracts.add(contract);
+    }
+
+    dir = Files.createTempDirectory("startup-bench");
+    if ("wal".equals(store)) {
+      file = dir.resolve("data.wal");
+      try (WriteAheadLogDataStore wal = new WriteAheadLogDataStore(file, time)) {
+        wal.upsertMembers(population);
+        wal.upsertItems(items);
+        wal.upsertContracts(contracts);
+      }
+    } else {
+      file = dir.resolve("data.snap");
+      MappedSnapshotDataStore.write(file, population, items, contracts);
+    }
+  }
+
+  /**
+   * Removes the store's files.
+   */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(dir);
+  }
+
+  /**
+   * Opens the store and loads all three collections.
+   *
+   * @return the number of loaded entities
+   */
+  @Benchmark
+  public int openAndLoad() throws IOException {
+    if ("wal".equals(store)) {
+      try (WriteAheadLogDataStore wal = new WriteAheadLogDataStore(file, time)) {
+        return loadAll(wal);
+      }
+    }
+    return loadAll(new MappedSnapshotDataStore(file, time));
+  }
+
+  private static int loadAll(DataStore dataStore) {
+    return dataStore.loadMembers().size() + dataStore.loadItems().size()
+        + dataStore.loadContracts().size();
+  }
+}
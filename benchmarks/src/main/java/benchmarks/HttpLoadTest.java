@@ -0,0 +1,124 @@
+package benchmarks;
+
+import controller.http.ApiServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import model.entity.Item;
+import model.entity.Member;
+import model.metrics.LatencyHistogram;
+import model.persistence.InMemoryDataStore;
+import model.service.ContractService;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.TimeService;
+
+/**
+ * Load test for the HTTP API. Starts a server on a free local port with
+ * seeded members and items, then has a number of client threads send a mix
+ * of reads and quotes for a fixed time and reports requests per second and
+ * latency percentiles.
+ *
+ * <p>Arguments: {@code [clients] [seconds] [members]}, defaulting to 16, 10
+ * and 1000.
+ */
+public final class HttpLoadTest {
+  private HttpLoadTest() {
+  }
+
+  /**
+   * Runs the load test.
+   *
+   * @param args clients, seconds and members, all optional
+   */
+  public static void main(String[] args) throws Exception {
+    int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+    int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    int members = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+
+    TimeService time = new TimeService();
+    InMemoryDataStore dataStore = new InMemoryDataStore();
+    MemberService memberService = new MemberService(time, dataStore);
+    ItemService itemService = new ItemService(dataStore, time, memberService);
+    ContractService contractService =
+        new ContractService(time, dataStore, memberService, itemService);
+    List<String> memberIds = new ArrayList<>();
+    List<String> itemIds = new ArrayList<>();
+    for (int i = 0; i < members; i++) {
+      Member member =
+          memberService.createMember("Member " + i, "phone-" + i, "m" + i + "@load.test");
+      Item item = itemService.createItem("Item " + i, Item.Category.TOOL, "Load test item", 1.0,
+          member.getMemberId());
+      memberIds.add(member.getMemberId());
+      itemIds.add(item.getItemId());
+    }
+
+    ApiServer server = new ApiServer(new InetSocketAddress("127.0.0.1", 0), memberService,
+        itemService, contractService, time);
+    server.start();
+    String base = "http://127.0.0.1:" + server.getPort();
+    HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    LatencyHistogram latency = new LatencyHistogram();
+    AtomicLong errors = new AtomicLong();
+    long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+
+    List<Thread> threads = new ArrayList<>();
+    for (int c = 0; c < clients; c++) {
+      Thread thread = new Thread(() -> {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+          String memberId = memberIds.get(random.nextInt(memberIds.size()));
+          String itemId = itemIds.get(random.nextInt(itemIds.size()));
+          String path;
+          switch (random.nextInt(4)) {
+            case 0:
+              path = "/members/" + memberId;
+              break;
+            case 1:
+              path = "/items/" + itemId;
+              break;
+            case 2:
+              path = "/items?limit=20&cursor=" + itemId;
+              break;
+            default:
+              path = "/contracts/quote?borrowerId=" + memberId + "&itemId=" + itemId
+                  + "&startDay=1&endDay=3";
+          }
+          long start = System.nanoTime();
+          try {
+            HttpResponse<Void> response = client.send(
+                HttpRequest.newBuilder(URI.create(base + path)).build(),
+                HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+              errors.incrementAndGet();
+            }
+          } catch (Exception e) {
+            errors.incrementAndGet();
+          }
+          latency.record(System.nanoTime() - start);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    long started = System.nanoTime();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    double elapsed = (System.nanoTime() - started) / 1e9;
+    server.stop();
+
+    System.out.printf("%d clients, %d members, %.1f s%n", clients, members, elapsed);
+    System.out.printf("requests: %d (%d errors), %.0f requests/s%n", latency.count(),
+        errors.get(), latency.count() / elapsed);
+    System.out.printf("latency p50 %.3f ms, p99 %.3f ms, p99.9 %.3f ms%n",
+        latency.percentile(0.5) / 1e6, latency.percentile(0.99) / 1e6,
+        latency.percentile(0.999) / 1e6);
+  }
+}
@@ -0,0 +1,264 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import model.FlatRateStrategy;
+import model.LendingCostStrategy;
+import model.entity.Item;
+import model.entity.Member;
+import model.metrics.LatencyHistogram;
+import model.persistence.DataStore;
+import model.persistence.InMemoryDataStore;
+import model.persistence.ShardedDataStore;
+import model.service.ContractService;
+import model.service.ItemService;
+import model.service.MemberService;
+import model.service.TimeService;
+
+/**
+ * Synthetic workload for the services. Builds a population of members and
+ * items, then runs a mix of operations from one or more threads and reports
+ * throughput, latency percentiles per operation and heap use.
+ *
+ * <p>Everything random comes from a seed. The population is always the same
+ * for a seed, and so is each thread's sequence of operations; with one thread
+ * the whole run, including which bookings succeed, repeats exactly.
+ *
+ * <p>Arguments, all optional, as {@code name=value}:
+ * <pre>
+ * members=100000 items=500000 ops=1000000 threads=1 seed=42
+ * mix=lookup:40,quote:25,book:20,search:14,advance:1 shards=0
+ * </pre>
+ * With {@code shards} above 0 the services store into a ShardedDataStore with
+ * that many shards instead of one InMemoryDataStore.
+ */
+public final class WorkloadDriver {
+  private static final String[] ADJECTIVES = {
+    "red", "old", "small", "heavy", "electric", "folding", "vintage", "spare", "large", "light"
+  };
+  private static final String[] NOUNS = {
+    "drill", "bike", "ladder", "tent", "kayak", "saw", "console", "puzzle", "ball", "trailer"
+  };
+  private static final int HORIZON = 60; // bookings start within this many days of today
+  private static final int MAX_LENGTH = 7; // and last at most this many days
+
+  private final Map<Op, Integer> mix;
+  private final int mixTotal;
+  private final LendingCostStrategy strategy = new FlatRateStrategy();
+  private final TimeService time = new TimeService();
+  private final MemberService memberService;
+  private final ItemService itemService;
+  private final ContractService contractService;
+  private final List<String> memberIds = new ArrayList<>();
+  private final List<String> itemIds = new ArrayList<>();
+  private final Map<Op, LatencyHistogram> latency = new EnumMap<>(Op.class);
+  private final AtomicLong booked = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+
+  /**
+   * The operations in a mix.
+   */
+  enum Op {
+    /** Find a member and an item by ID. */
+    LOOKUP,
+    /** Price a booking without making it. */
+    QUOTE,
+    /** Book an item for a few days. */
+    BOOK,
+    /** Find free items in a category for a day range. */
+    SEARCH,
+    /** Move the clock one day forward. */
+    ADVANCE
+  }
+
+  private WorkloadDriver(Map<Op, Integer> mix, DataStore dataStore) {
+    this.mix = mix;
+    this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+    memberService = new MemberService(time, dataStore);
+    itemService = new ItemService(dataStore, time, memberService);
+    contractService = new ContractService(time, dataStore, memberService, itemService);
+    for (Op op : Op.values()) {
+      latency.put(op, new LatencyHistogram());
+    }
+  }
+
+  /**
+   * Runs the workload.
+   *
+   * @param args name=value options, see the class comment
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq < 0) {
+        throw new IllegalArgumentException("Expected name=value, got " + arg);
+      }
+      options.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+    int members = Integer.parseInt(options.getOrDefault("members", "100000"));
+    int items = Integer.parseInt(options.getOrDefault("items", "500000"));
+    long ops = Long.parseLong(options.getOrDefault("ops", "1000000"));
+    int threads = Integer.parseInt(options.getOrDefault("threads", "1"));
+    long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+    Map<Op, Integer> mix =
+        parseMix(options.getOrDefault("mix", "lookup:40,quote:25,book:20,search:14,advance:1"));
+
+    int shards = Integer.parseInt(options.getOrDefault("shards", "0"));
+
+    WorkloadDriver driver = new WorkloadDriver(mix,
+        shards > 0 ? new ShardedDataStore(shards) : new InMemoryDataStore());
+    long start = System.nanoTime();
+    driver.populate(new SplittableRandom(seed), members, items);
+    double populateSeconds = (System.nanoTime() - start) / 1e9;
+    System.gc();
+    long heapAfterPopulate = usedHeap();
+    System.out.printf("populated %d members and %d items in %.1f s, heap %d MB%n",
+        members, items, populateSeconds, heapAfterPopulate >> 20);
+
+    double runSeconds = driver.run(seed, ops, threads);
+    driver.report(ops, threads, runSeconds);
+  }
+
+  private static Map<Op, Integer> parseMix(String spec) {
+    Map<Op, Integer> mix = new EnumMap<>(Op.class);
+    for (String part : spec.split(",")) {
+      String[] weight = part.split(":");
+      mix.put(Op.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)),
+          Integer.parseInt(weight[1].trim()));
+    }
+    return mix;
+  }
+
+  private void populate(SplittableRandom random, int members, int items) {
+    for (int i = 0; i < members; i++) {
+      Member member = memberService.createMember("Member " + i, "phone-" + i,
+          "member" + i + "@load.test");
+      member.setCredit(1000 + random.nextInt(10_000));
+      memberIds.add(member.getMemberId());
+    }
+    Item.Category[] categories = Item.Category.values();
+    for (int i = 0; i < items; i++) {
+      String owner = memberIds.get(random.nextInt(memberIds.size()));
+      String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+          + NOUNS[random.nextInt(NOUNS.length)];
+      Item item = itemService.createItem(name, categories[random.nextInt(categories.length)],
+          "Generated item " + i, 1 + random.nextInt(50), owner);
+      itemIds.add(item.getItemId());
+    }
+  }
+
+  private double run(long seed, long ops, int threads) throws InterruptedException {
+    List<Thread> workers = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int t = 0; t < threads; t++) {
+      // each thread gets its own stream, split off the seed in thread order
+      SplittableRandom random = new SplittableRandom(seed * 31 + t);
+      long share = ops / threads + (t < ops % threads ? 1 : 0);
+      Thread worker = new Thread(() -> {
+        for (long i = 0; i < share; i++) {
+          step(random);
+        }
+      }, "workload-" + t);
+      workers.add(worker);
+      worker.start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+    return (System.nanoTime() - start) / 1e9;
+  }
+
+  private void step(SplittableRandom random) {
+    Op op = pick(random.nextInt(mixTotal));
+    String memberId = memberIds.get(random.nextInt(memberIds.size()));
+    String itemId = itemIds.get(random.nextInt(itemIds.size()));
+    int startDay = time.getCurrentDay() + random.nextInt(HORIZON);
+    int endDay = startDay + random.nextInt(MAX_LENGTH);
+    long began = System.nanoTime();
+    switch (op) {
+      case LOOKUP:
+        memberService.findMemberById(memberId);
+        itemService.findItemById(itemId);
+        break;
+      case QUOTE:
+        contractService.quote(memberId, itemId, startDay, endDay, strategy);
+        break;
+      case BOOK:
+        book(memberId, itemId, startDay, endDay);
+        break;
+      case SEARCH:
+        Item.Category[] categories = Item.Category.values();
+        itemService.findAvailable(categories[random.nextInt(categories.length)], startDay,
+            endDay, 10);
+        break;
+      default:
+        time.advanceDay();
+    }
+    latency.get(op).record(System.nanoTime() - began);
+  }
+
+  private void book(String memberId, String itemId, int startDay, int endDay) {
+    Member borrower = memberService.findMemberById(memberId);
+    Item item = itemService.findItemById(itemId);
+    Member owner = memberService.findMemberById(item.getOwnerId());
+    try {
+      contractService.createContract(borrower, owner, item, startDay, endDay, strategy);
+      booked.incrementAndGet();
+    } catch (Exception e) {
+      rejected.incrementAndGet(); // taken, or the borrower ran out of credit
+    }
+  }
+
+  private Op pick(int ticket) {
+    int remaining = ticket;
+    for (Map.Entry<Op, Integer> entry : mix.entrySet()) {
+      remaining -= entry.getValue();
+      if (remaining < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("Mix weights must be positive");
+  }
+
+  private void report(long ops, int threads, double seconds) {
+    System.out.printf("%d ops on %d thread(s) in %.2f s: %.0f ops/s%n", ops, threads, seconds,
+        ops / seconds);
+    System.out.printf("bookings: %d made, %d rejected; day is now %d%n", booked.get(),
+        rejected.get(), time.getCurrentDay());
+    System.out.printf("%-8s %10s %10s %10s %10s%n", "op", "count", "p50 us", "p99 us", "p99.9 us");
+    for (Map.Entry<Op, LatencyHistogram> entry : latency.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      if (histogram.count() > 0) {
+        System.out.printf("%-8s %10d %10.1f %10.1f %10.1f%n",
+            entry.getKey().name().toLowerCase(Locale.ROOT), histogram.count(),
+            histogram.percentile(0.5) / 1e3, histogram.percentile(0.99) / 1e3,
+            histogram.percentile(0.999) / 1e3);
+      }
+    }
+    System.out.printf("heap used %d MB, peak %d MB%n", usedHeap() >> 20, peakHeap() >> 20);
+  }
+
+  private static long usedHeap() {
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+
+  private static long peakHeap() {
+    long peak = 0;
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP) {
+        peak += pool.getPeakUsage().getUsed();
+      }
+    }
+    return peak;
+  }
+}